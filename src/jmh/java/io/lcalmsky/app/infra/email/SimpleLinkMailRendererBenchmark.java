@@ -0,0 +1,69 @@
+package io.lcalmsky.app.infra.email;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimpleLinkMailRendererBenchmark {
+    // 스터디 오픈 fan-out 시 수신자 20,000명에게 보낼 메일 본문을 만드는 비용을 비교한다.
+    // ./gradlew jmh
+
+    private static final int RECIPIENTS = 20_000;
+
+    private SpringTemplateEngine templateEngine;
+    private AppProperties appProperties;
+    private SimpleLinkMailRenderer simpleLinkMailRenderer;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        simpleLinkMailRenderer = new SimpleLinkMailRenderer(templateEngine, appProperties);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public long templateEnginePerRecipient() {
+        long length = 0;
+        for (int i = 0; i < RECIPIENTS; i++) {
+            Context context = new Context();
+            context.setVariable("link", "/study/spring-study");
+            context.setVariable("nickname", "member" + i);
+            context.setVariable("linkName", "스프링 스터디");
+            context.setVariable("message", "새로운 스터디가 오픈하였습니다.");
+            context.setVariable("host", appProperties.getHost());
+            length += templateEngine.process(SimpleLinkMailRenderer.TEMPLATE, context).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public long preparedPerFanOut() {
+        SimpleLinkMailRenderer.Prepared prepared = simpleLinkMailRenderer.prepare("스프링 스터디", "새로운 스터디가 오픈하였습니다.");
+        long length = 0;
+        for (int i = 0; i < RECIPIENTS; i++) {
+            length += prepared.render("member" + i, "/study/spring-study").length();
+        }
+        return length;
+    }
+}
@@ -1,12 +1,141 @@
 package io.lcalmsky.app.infra.config;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties("app")
 public class AppProperties {
     private String host;
+
+    private FanOut fanOut = new FanOut();
+
+    private Notification notification = new Notification();
+
+    private Mail mail = new Mail();
+
+    private Executors executors = new Executors();
+
+    private VirtualThreads virtualThreads = new VirtualThreads();
+
+    private DomainEvents domainEvents = new DomainEvents();
+
+    private Search search = new Search();
+
+    private Recommendation recommendation = new Recommendation();
+
+    private Image image = new Image();
+
+    private Reservation reservation = new Reservation();
+
+    @Data
+    public static class FanOut {
+        private int pageSize = 500; // 한 번에 조회하고 저장할 알림 대상 수
+    }
+
+    @Data
+    public static class Notification {
+        private long reconcileIntervalMillis = 300_000; // 읽지 않은 알림 수를 DB 기준으로 다시 맞추는 주기
+        private long counterMaxSize = 100_000; // 읽지 않은 알림 수를 보관할 계정 수
+        private Duration counterIdleTimeout = Duration.ofHours(1); // 이 시간 동안 조회하지 않은 계정은 캐시에서 제거
+    }
+
+    @Data
+    public static class Mail {
+        private int batchSize = 50; // 한 번의 SMTP 연결로 보낼 메일 수
+        private int maxAttempts = 5; // 이 횟수만큼 실패하면 FAILED로 남기고 더 이상 보내지 않는다.
+        private Duration retryBackoff = Duration.ofSeconds(30); // 첫 재시도 간격, 실패할 때마다 두 배로 늘어난다.
+        private int parallelism = 4; // 동시에 전송할 묶음 수
+        private Duration claimLease = Duration.ofMinutes(10); // 조회한 메일을 다른 서버가 가져가지 않도록 미뤄 두는 시간, send-timeout보다 길어야 한다.
+        private Duration sendTimeout = Duration.ofMinutes(2); // 전송 중인 묶음을 기다리는 시간, 넘으면 스케줄러 스레드를 놓아주고 끝난 뒤에 다음 묶음을 조회한다.
+        private Duration retention = Duration.ofDays(7); // 전송한 메일을 outbox에 남겨두는 기간
+    }
+
+    @Data
+    public static class Executors {
+        private Pool studyFanOut = new Pool(2, 4, 500); // 스터디 생성, 수정 이벤트 처리
+        private Pool enrollment = new Pool(2, 4, 500); // 모임 참가 신청 결과 이벤트 처리
+        private Pool mail = new Pool(4, 4, 1000); // 메일 outbox 전송(EmailDispatcher)
+        private Pool dashboard = new Pool(4, 4, 200); // 첫 화면 조회, 스레드마다 커넥션을 하나씩 사용하므로 커넥션 풀보다 작게 유지한다.
+        private Pool image = new Pool(1, 2, 200, Rejection.ABORT); // 축소 이미지 생성, 거절되면 처음 요청될 때 다시 만든다.
+        private Pool recommendation = new Pool(1, 1, 10, Rejection.DISCARD); // 스터디 변경 후 추천 목록 재계산
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Pool {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private Rejection rejection = Rejection.CALLER_RUNS; // 대기열이 가득 찼을 때의 처리 방식
+
+        public Pool(int coreSize, int maxSize, int queueCapacity) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, Rejection rejection) {
+            this(coreSize, maxSize, queueCapacity);
+            this.rejection = rejection;
+        }
+    }
+
+    public enum Rejection {
+        CALLER_RUNS, // 이벤트를 발행한 스레드가 직접 처리해 발행 속도를 늦춘다. 발행한 스레드의 트랜잭션에는 참여하지 않는다.
+        ABORT, // TaskRejectedException을 던진다.
+        DISCARD // 작업을 버린다. 대기 중인 작업이 바뀐 내용을 모아 처리하는 실행기에만 사용한다.
+        // 버린 작업은 CompletableFuture를 완료하지 않아 기다리는 스레드가 멈추므로 future로 기다리는 실행기에는 사용하지 않는다.
+    }
+
+    @Data
+    public static class VirtualThreads {
+        private boolean enabled = false; // 가상 스레드를 지원하는 JDK에서만 적용되고, 그렇지 않으면 기존 스레드 풀을 사용한다.
+        private int maxConcurrency = 200; // 실행기마다 동시에 실행할 수 있는 작업 수
+    }
+
+    @Data
+    public static class DomainEvents {
+        private int batchSize = 100; // 한 번에 조회해서 발행할 outbox 이벤트 수
+        private int maxAttempts = 10; // 이 횟수만큼 발행에 실패하면 replay 전까지 다시 발행하지 않는다.
+        private Duration retention = Duration.ofDays(7); // 발행한 이벤트를 replay를 위해 보관하는 기간
+        private Duration handlerTimeout = Duration.ofMinutes(5); // 리스너가 이 시간 안에 끝나지 않으면 경고를 남긴다. 실행 중인 이벤트는 다시 발행하지 않는다.
+    }
+
+    @Data
+    public static class Search {
+        private long cacheMaxSize = 10_000; // 캐시할 검색 결과 페이지 수
+        private Duration cacheTtl = Duration.ofMinutes(5); // 변경 이벤트를 놓치더라도 이 시간이 지나면 다시 검색한다.
+        private Duration facetTtl = Duration.ofMinutes(10); // 관심 주제, 지역별 스터디 수를 다시 계산하는 주기
+    }
+
+    @Data
+    public static class Recommendation {
+        private int size = 9; // 계정별로 미리 계산해 둘 추천 스터디 수
+        private long maxAccounts = 50_000; // 추천 목록을 메모리에 보관할 계정 수, 넘으면 오래 사용하지 않은 계정부터 제거
+        private Duration refreshInterval = Duration.ofMinutes(10); // 시간이 지나 바뀌는 최신성 점수를 반영하기 위해 다시 계산하는 주기
+    }
+
+    @Data
+    public static class Image {
+        private String rootDir = System.getProperty("java.io.tmpdir") + "/fritz-images"; // 업로드한 이미지를 저장할 디렉터리
+        private int maxBytes = 2 * 1024 * 1024; // 디코딩한 이미지의 최대 크기
+        private long maxPixels = 40_000_000; // 가로 x 세로 최대 픽셀 수, 넘으면 축소 이미지를 만들지 않는다(ARGB 기준 약 160MB).
+    }
+
+    @Data
+    public static class Reservation {
+        private boolean enabled = false; // true면 선착순 모임 참가 신청을 좌석 예약으로 먼저 받고 묶어서 저장한다.
+        private long confirmIntervalMillis = 200; // 예약을 참가 신청으로 저장하는 주기
+        private int batchSize = 200; // 한 트랜잭션에서 저장할 예약 수
+        private int maxAttempts = 20; // 같은 예약이 이 횟수만큼 저장에 실패하면 실패로 기록하고 좌석을 돌려준다.
+        private Duration maxBackoff = Duration.ofSeconds(30); // 저장에 실패하면 주기를 두 배씩 늘려 다시 시도하고, 이 시간을 넘기지 않는다.
+        private Duration resultTtl = Duration.ofHours(1); // 저장이 끝난 예약의 결과를 토큰으로 조회할 수 있는 시간
+        private long resultMaxSize = 100_000; // 보관할 예약 결과 수
+    }
 }
@@ -1,19 +1,47 @@
 package io.lcalmsky.app.infra.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.*;
 
 @Configuration
 @EnableAsync // 비동기 처리를 위한 기본 설정을 제공
 @Slf4j
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer { // AsyncConfigurer를 구현하여 커스텀 설정을 추가할 수 있다.
+
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager; // AsyncConfigurer는 일찍 생성되므로 사용할 때 찾는다.
+
     @Override
     public Executor getAsyncExecutor() { // 스레드 풀을 직접 지정
+        return asyncExecutor(); // 빈으로 등록된 같은 실행기를 반환한다.
+    }
+
+    @Bean
+    public Executor asyncExecutor() {
+        // 이름을 지정하지 않은 @Async 메서드에서 사용하는 기본 스레드 풀
+        // 다른 실행기와 같이 빈으로 등록해야 종료할 때 destroy(shutdown)가 호출된다.
+        if (useVirtualThreads()) {
+            return new VirtualThreadTaskExecutor("asyncExecutor", appProperties.getVirtualThreads().getMaxConcurrency(), meterRegistry);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         int processors = Runtime.getRuntime().availableProcessors();
         log.info("processor count {}", processors);
@@ -22,7 +50,133 @@ public class AsyncConfig implements AsyncConfigurer { // AsyncConfigurer를 구
         executor.setQueueCapacity(50);
         executor.setKeepAliveSeconds(60);
         executor.setThreadNamePrefix("AsyncExecutor");
-        executor.initialize();
-        return executor;
+        return executor; // 빈으로 등록하면 afterPropertiesSet에서 initialize가 호출된다.
+    }
+
+    @Bean
+    public Executor studyFanOutExecutor() {
+        return createExecutor("studyFanOutExecutor", appProperties.getExecutors().getStudyFanOut());
+    }
+
+    @Bean
+    public Executor enrollmentExecutor() {
+        return createExecutor("enrollmentExecutor", appProperties.getExecutors().getEnrollment());
+    }
+
+    @Bean
+    public Executor mailExecutor() {
+        // EmailDispatcher가 메일 outbox에서 조회한 묶음을 전송하는 실행기
+        return createExecutor("mailExecutor", appProperties.getExecutors().getMail());
+    }
+
+    @Bean
+    public Executor dashboardExecutor() {
+        // 로그인한 사용자의 첫 화면을 구성하는 조회를 동시에 실행하는 실행기, 요청 스레드가 결과를 기다린다.
+        return createExecutor("dashboardExecutor", appProperties.getExecutors().getDashboard());
+    }
+
+    @Bean
+    public Executor imageExecutor() {
+        // 업로드한 이미지의 축소 이미지를 만드는 실행기, CPU를 많이 사용하므로 스레드 수를 적게 유지한다.
+        return createExecutor("imageExecutor", appProperties.getExecutors().getImage());
+    }
+
+    @Bean
+    public Executor recommendationExecutor() {
+        // 스터디가 바뀐 뒤 계정별 추천 목록을 다시 계산하는 실행기, StudyRecommender가 바뀐 스터디를 모아 한 번에 하나씩 실행한다.
+        return createExecutor("recommendationExecutor", appProperties.getExecutors().getRecommendation());
+    }
+
+    private boolean useVirtualThreads() {
+        if (!appProperties.getVirtualThreads().isEnabled()) {
+            return false;
+        }
+        if (!VirtualThreadTaskExecutor.isAvailable()) {
+            log.warn("app.virtual-threads.enabled is set but Java {} has no virtual threads, falling back to thread pools", Runtime.version());
+            return false;
+        }
+        return true;
+    }
+
+    private Executor createExecutor(String name, AppProperties.Pool pool) {
+        if (useVirtualThreads()) {
+            // 블로킹 I/O(JPA, SMTP)가 대부분이므로 스레드 수 대신 동시에 실행할 작업 수만 제한한다.
+            return new VirtualThreadTaskExecutor(name, appProperties.getVirtualThreads().getMaxConcurrency(), meterRegistry);
+        }
+        return createThreadPool(name, pool);
+    }
+
+    private ThreadPoolTaskExecutor createThreadPool(String name, AppProperties.Pool pool) {
+        // 이벤트 종류마다 스레드 풀을 나눠 한 종류의 이벤트가 몰려도 다른 이벤트 처리가 밀리지 않도록 한다.
+        // 활성 스레드 수, 대기열 크기 등은 ExecutorServiceMetrics로, 거절된 작업 수와 대기/실행 시간은 직접 기록한다.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+                ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+                new ExecutorServiceMetrics(executorService, name, Tags.empty()).bindTo(meterRegistry);
+                return executorService;
+            }
+        };
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler(name, pool.getRejection()));
+        executor.setTaskDecorator(runnable -> timed(name, runnable));
+        return executor; // 빈으로 등록하면 afterPropertiesSet에서 initialize가 호출된다.
+    }
+
+    private RejectedExecutionHandler rejectedExecutionHandler(String name, AppProperties.Rejection rejection) {
+        RejectedExecutionHandler delegate;
+        switch (rejection) {
+            case ABORT:
+                delegate = new ThreadPoolExecutor.AbortPolicy();
+                break;
+            case DISCARD:
+                delegate = new ThreadPoolExecutor.DiscardPolicy();
+                break;
+            default:
+                delegate = this::runInCaller;
+        }
+        Counter rejected = meterRegistry.counter("executor.rejected", "name", name);
+        return (runnable, threadPoolExecutor) -> {
+            rejected.increment();
+            log.warn("{} is saturated, rejection policy: {}", name, rejection);
+            delegate.rejectedExecution(runnable, threadPoolExecutor);
+        };
+    }
+
+    private void runInCaller(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+        // CALLER_RUNS: 작업을 등록한 스레드가 직접 실행한다. 발행한 쪽은 작업이 끝날 때까지 기다리므로 발행 속도가 느려진다.
+        // 등록한 스레드에 트랜잭션이 있으면(요청 처리 중이거나 afterCommit 콜백 안) 작업이 그 트랜잭션에 참여해
+        // 함께 롤백되거나, 이미 커밋된 트랜잭션에 참여해 변경 내용이 저장되지 않는다.
+        // 풀 스레드에서 실행한 것과 같도록 트랜잭션을 잠시 보류한 채로 실행하고, 작업의 @Transactional은 새 트랜잭션을 연다.
+        if (threadPoolExecutor.isShutdown()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager.getObject());
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        transactionTemplate.executeWithoutResult(status -> runnable.run());
+    }
+
+    private Runnable timed(String name, Runnable runnable) {
+        // 작업이 등록된 시점부터 실행을 시작하기까지의 대기 시간과 실행 시간을 따로 기록한다.
+        Timer waitTimer = meterRegistry.timer("executor.task.wait", "name", name);
+        Timer executionTimer = meterRegistry.timer("executor.task.execution", "name", name);
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                runnable.run();
+            } finally {
+                executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        };
     }
 }
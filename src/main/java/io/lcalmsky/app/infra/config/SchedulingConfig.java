@@ -0,0 +1,9 @@
+package io.lcalmsky.app.infra.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // 주기적으로 실행할 작업(@Scheduled)을 사용하기 위한 설정
+public class SchedulingConfig {
+}
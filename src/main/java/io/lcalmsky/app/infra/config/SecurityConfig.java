@@ -30,7 +30,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .mvcMatchers("/", "/login", "/sign-up", "/check-email-token",
                         "/email-login", "/check-email-login", "/login-link", "/login-by-email",
                         "/search/study").permitAll()
-                .mvcMatchers(HttpMethod.GET, "/profile/*").permitAll()
+                .mvcMatchers(HttpMethod.GET, "/profile/*", "/image/*").permitAll()
                 .anyRequest().authenticated();
         http.formLogin() // formLogin() 을 설정하면 form 기반 인증을 지원합니다.
                 // loginPage를 지정하지 않으면 스프링이 기본으로 로그인 페이지를 생성해준다.
@@ -0,0 +1,105 @@
+package io.lcalmsky.app.infra.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+    // 작업마다 가상 스레드를 새로 만들어 실행하고, 동시에 실행되는 작업 수는 세마포어로 제한한다.
+    // 허용치를 넘으면 작업을 등록한 스레드가 자리가 날 때까지 기다리므로 CallerRunsPolicy처럼 생산 속도가 조절된다.
+    // 컴파일 대상은 Java 17이므로 Executors.newVirtualThreadPerTaskExecutor는 리플렉션으로 찾는다.
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private final String name;
+    private final ExecutorService executorService;
+    private final Semaphore semaphore;
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+    private final Counter rejectedCounter;
+
+    public VirtualThreadTaskExecutor(String name, int maxConcurrency, MeterRegistry meterRegistry) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("virtual threads are not available on Java " + Runtime.version());
+        }
+        this.name = name;
+        this.executorService = newVirtualThreadPerTaskExecutor();
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.waitTimer = meterRegistry.timer("executor.task.wait", "name", name);
+        this.executionTimer = meterRegistry.timer("executor.task.execution", "name", name);
+        this.rejectedCounter = meterRegistry.counter("executor.rejected", "name", name);
+        meterRegistry.gauge("executor.active", Tags.of("name", name), semaphore,
+                s -> maxConcurrency - s.availablePermits());
+        meterRegistry.gauge("executor.queued", Tags.of("name", name), semaphore,
+                Semaphore::getQueueLength);
+    }
+
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submitted = System.nanoTime();
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCounter.increment();
+            throw new TaskRejectedException(name + " was interrupted while waiting for a permit", e);
+        }
+        try {
+            executorService.execute(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    semaphore.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            semaphore.release();
+            rejectedCounter.increment();
+            throw new TaskRejectedException(name + " did not accept a task", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} did not terminate in 30 seconds", name);
+            executorService.shutdownNow();
+        }
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create a virtual thread executor", e);
+        }
+    }
+}
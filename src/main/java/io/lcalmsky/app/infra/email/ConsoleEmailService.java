@@ -4,12 +4,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 @Profile("local")
 @Service
 @Slf4j
-public class ConsoleEmailService implements EmailService{
+public class ConsoleEmailService implements EmailSender {
     @Override
-    public void sendEmail(EmailMessage emailMessage) {
-        log.info("sent email: {}", emailMessage.getMessage());
+    public Map<Integer, Exception> send(List<EmailMessage> emailMessages) {
+        emailMessages.forEach(emailMessage -> log.info("sent email: {}", emailMessage.getMessage()));
+        return Collections.emptyMap();
     }
 }
@@ -0,0 +1,152 @@
+package io.lcalmsky.app.infra.email;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class EmailDispatcher {
+    // EmailOutbox에 쌓인 메일을 일정 주기로 모아서 전송한다.
+    // 한 번에 여러 메일을 보내 SMTP 연결을 재사용하고, 실패한 메일은 간격을 늘려가며 다시 시도한다.
+    // 서버가 여러 대여도 같은 메일을 두 번 보내지 않도록 조회한 메일을 잠그고 claim-lease만큼 다음 시도 시각을 미뤄 둔 뒤 전송한다.
+
+    private static final Duration PENDING_COUNT_INTERVAL = Duration.ofSeconds(30);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+    private final Executor mailExecutor;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+    private volatile long pendingCount;
+    private volatile long pendingCountedAt = System.nanoTime() - PENDING_COUNT_INTERVAL.toNanos();
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository, EmailSender emailSender,
+                           TransactionTemplate transactionTemplate, AppProperties appProperties,
+                           @Qualifier("mailExecutor") Executor mailExecutor, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailSender = emailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.appProperties = appProperties;
+        this.mailExecutor = mailExecutor;
+        this.sendTimer = meterRegistry.timer("mail.send");
+        this.sentCounter = meterRegistry.counter("mail.sent");
+        this.failedCounter = meterRegistry.counter("mail.failed");
+        meterRegistry.gauge("mail.outbox.pending", this, EmailDispatcher::pendingCount);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.dispatch-interval-millis:1000}")
+    public void dispatch() {
+        // 여러 묶음을 한 번에 조회해 mailExecutor에서 동시에 전송하고, 모두 끝난 뒤에 다음 묶음을 조회한다.
+        // 제한 시간 안에 끝나지 않은 묶음이 아직 전송 중이면 같은 메일을 다시 조회하지 않도록 이번 주기는 건너뛴다.
+        if (!inFlight.isDone()) {
+            return;
+        }
+        int batchSize = appProperties.getMail().getBatchSize();
+        int fetchSize = batchSize * appProperties.getMail().getParallelism();
+        List<EmailOutbox> pending;
+        do {
+            pending = claim(fetchSize);
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<EmailOutbox> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                futures.add(CompletableFuture.runAsync(() -> dispatch(batch), mailExecutor));
+            }
+            inFlight = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+            if (!await(inFlight)) {
+                return;
+            }
+        } while (pending.size() == fetchSize);
+    }
+
+    List<EmailOutbox> claim(int fetchSize) {
+        Duration lease = appProperties.getMail().getClaimLease();
+        return transactionTemplate.execute(status -> {
+            List<EmailOutbox> claimed = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    EmailOutbox.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, fetchSize));
+            claimed.forEach(emailOutbox -> emailOutbox.claim(lease));
+            return claimed;
+        });
+    }
+
+    private double pendingCount() {
+        // 지표를 수집할 때마다 count 하지 않도록 PENDING_COUNT_INTERVAL 동안 이전 값을 사용한다.
+        long now = System.nanoTime();
+        if (now - pendingCountedAt >= PENDING_COUNT_INTERVAL.toNanos()) {
+            pendingCount = emailOutboxRepository.countByStatus(EmailOutbox.Status.PENDING);
+            pendingCountedAt = now;
+        }
+        return pendingCount;
+    }
+
+    private boolean await(CompletableFuture<Void> future) {
+        Duration timeout = appProperties.getMail().getSendTimeout();
+        try {
+            future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("email batches did not finish within {}, skipping dispatch until they do", timeout);
+            return false;
+        } catch (ExecutionException e) {
+            log.error("failed to dispatch email batch", e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.purge-cron:0 30 4 * * *}")
+    public void purge() {
+        // 보관 기간이 지난 전송 완료 메일은 삭제한다.
+        int count = emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(appProperties.getMail().getRetention()));
+        log.info("purged {} sent emails", count);
+    }
+
+    private void dispatch(List<EmailOutbox> batch) {
+        List<EmailMessage> emailMessages = batch.stream()
+                .map(EmailOutbox::toEmailMessage)
+                .collect(Collectors.toList());
+        // SMTP 전송은 트랜잭션 밖에서 처리해 DB 커넥션을 오래 잡고 있지 않도록 한다.
+        Map<Integer, Exception> failures = sendTimer.record(() -> emailSender.send(emailMessages));
+        AppProperties.Mail mail = appProperties.getMail();
+        for (int i = 0; i < batch.size(); i++) {
+            Exception exception = failures.get(i);
+            if (exception == null) {
+                batch.get(i).sent();
+            } else {
+                batch.get(i).failed(exception, mail.getMaxAttempts(), mail.getRetryBackoff());
+                log.warn("failed to send email to {} ({} attempts)", batch.get(i).getRecipient(), batch.get(i).getAttempts());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+        sentCounter.increment(batch.size() - failures.size());
+        failedCounter.increment(failures.size());
+    }
+}
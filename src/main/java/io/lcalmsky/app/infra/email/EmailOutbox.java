@@ -0,0 +1,97 @@
+package io.lcalmsky.app.infra.email;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_email_outbox_status", columnList = "status, next_attempt_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EmailOutbox {
+    // 전송할 메일을 먼저 테이블에 저장해두고 EmailDispatcher가 모아서 전송한다.
+    // 요청 스레드는 SMTP 서버와 통신하지 않고, 서버가 재시작되어도 보내지 못한 메일이 남아있게 된다.
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Lob
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public static EmailOutbox from(EmailMessage emailMessage) {
+        EmailOutbox emailOutbox = new EmailOutbox();
+        emailOutbox.recipient = emailMessage.getTo();
+        emailOutbox.subject = emailMessage.getSubject();
+        emailOutbox.message = emailMessage.getMessage();
+        emailOutbox.status = Status.PENDING;
+        emailOutbox.createdAt = LocalDateTime.now();
+        emailOutbox.nextAttemptAt = emailOutbox.createdAt;
+        return emailOutbox;
+    }
+
+    public EmailMessage toEmailMessage() {
+        return EmailMessage.builder()
+                .to(recipient)
+                .subject(subject)
+                .message(message)
+                .build();
+    }
+
+    public void claim(Duration lease) {
+        // 전송하는 동안 다른 서버가 같은 메일을 가져가지 않도록 다음 시도 시각을 미룬다.
+        // 전송 결과를 저장하지 못하고 서버가 종료되면 lease가 지난 뒤 다시 전송한다.
+        this.nextAttemptAt = LocalDateTime.now().plus(lease);
+    }
+
+    public void sent() {
+        this.status = Status.SENT;
+        this.attempts++;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void failed(Exception exception, int maxAttempts, Duration backoff) {
+        // 실패할 때마다 재시도 간격을 두 배로 늘리고, 최대 횟수를 넘으면 더 이상 전송하지 않는다.
+        this.attempts++;
+        this.lastError = abbreviate(String.valueOf(exception.getMessage()));
+        if (this.attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+            return;
+        }
+        long multiplier = 1L << Math.min(this.attempts - 1, 16);
+        this.nextAttemptAt = LocalDateTime.now().plus(backoff.multipliedBy(multiplier));
+    }
+
+    private String abbreviate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+}
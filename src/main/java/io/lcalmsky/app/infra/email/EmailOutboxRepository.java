@@ -0,0 +1,34 @@
+package io.lcalmsky.app.infra.email;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // 전송할 메일을 잠그고 조회한다. 다른 서버가 잠근 행은 기다리지 않고 건너뛴다(PostgreSQL의 for update skip locked).
+    // 잠금은 호출한 트랜잭션이 끝날 때까지만 유지되므로 조회한 메일은 EmailOutbox.claim으로 다음 시도 시각을 미뤄 둔다.
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(EmailOutbox.Status status,
+                                                                            LocalDateTime now, Pageable pageable);
+
+    long countByStatus(EmailOutbox.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmailOutbox o where o.sentAt < :before")
+    int deleteSentBefore(LocalDateTime before);
+    // sentAt은 전송에 성공한 메일(SENT)에만 기록된다. 실패한 메일(FAILED)은 원인을 확인할 수 있도록 남겨둔다.
+}
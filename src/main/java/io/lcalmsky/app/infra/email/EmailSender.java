@@ -0,0 +1,10 @@
+package io.lcalmsky.app.infra.email;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EmailSender {
+    // 실제로 메일을 전송하는 역할. 여러 메일을 한 번의 연결(transport session)로 전송하고
+    // 전송에 실패한 메일의 순서(index)와 원인을 반환한다.
+    Map<Integer, Exception> send(List<EmailMessage> emailMessages);
+}
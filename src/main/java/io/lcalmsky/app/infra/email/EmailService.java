@@ -2,6 +2,10 @@ package io.lcalmsky.app.infra.email;
 
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 public interface EmailService {
     void sendEmail(EmailMessage emailMessage);
+
+    void sendEmails(List<EmailMessage> emailMessages);
 }
@@ -2,36 +2,74 @@ package io.lcalmsky.app.infra.email;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Profile("!local")
 @RequiredArgsConstructor
 @Service
 @Slf4j
-public class HtmlEmailService implements EmailService {
+public class HtmlEmailService implements EmailSender {
 
     private final JavaMailSender javaMailSender;
 
     @Override
-    public void sendEmail(EmailMessage emailMessage) {
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        MimeMessageHelper mimeMessageHelper;
+    public Map<Integer, Exception> send(List<EmailMessage> emailMessages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Integer> indexes = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        for (int i = 0; i < emailMessages.size(); i++) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(emailMessages.get(i));
+                indexes.put(mimeMessage, i);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(i, e);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
         try {
-            mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            mimeMessageHelper.setTo(emailMessage.getTo());
-            mimeMessageHelper.setSubject(emailMessage.getSubject());
-            mimeMessageHelper.setText(emailMessage.getMessage(), true);
-            javaMailSender.send(mimeMessage);
-            log.info("sent email: {}", emailMessage.getMessage());
-        } catch (MessagingException e) {
+            // JavaMailSenderImpl은 배열로 전달된 메일을 하나의 Transport 연결로 전송한다.
+            javaMailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            log.info("sent {} emails", mimeMessages.size());
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> {
+                Integer index = indexes.get(message);
+                if (index != null) {
+                    failures.put(index, exception);
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                indexes.values().forEach(index -> failures.put(index, e));
+            }
+            log.error("failed to send {} of {} emails", failures.size(), emailMessages.size(), e);
+        } catch (MailException e) {
+            indexes.values().forEach(index -> failures.put(index, e));
             log.error("failed to send email", e);
         }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage emailMessage) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(emailMessage.getTo());
+        mimeMessageHelper.setSubject(emailMessage.getSubject());
+        mimeMessageHelper.setText(emailMessage.getMessage(), true);
+        return mimeMessage;
     }
 }
@@ -0,0 +1,29 @@
+package io.lcalmsky.app.infra.email;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OutboxEmailService implements EmailService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        emailOutboxRepository.save(EmailOutbox.from(emailMessage));
+        // 호출한 쪽의 트랜잭션에 참여하므로 회원 가입 등이 롤백되면 메일도 저장되지 않는다.
+        // 실제 전송은 EmailDispatcher가 별도 스레드에서 처리한다.
+    }
+
+    @Override
+    public void sendEmails(List<EmailMessage> emailMessages) {
+        // 여러 수신자에게 보낼 메일을 saveAll로 묶어서 저장한다(hibernate.jdbc.batch_size).
+        emailOutboxRepository.saveAll(emailMessages.stream().map(EmailOutbox::from).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,76 @@
+package io.lcalmsky.app.infra.email;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SimpleLinkMailRenderer {
+    // "mail/simple-link" 템플릿을 수신자마다 Thymeleaf로 처리하지 않고,
+    // 수신자마다 달라지는 닉네임과 링크 자리에 토큰을 넣어 한 번만 렌더링한 뒤 토큰 위치만 치환한다.
+
+    static final String TEMPLATE = "mail/simple-link";
+    private static final String NICKNAME_TOKEN = "__SIMPLE_LINK_NICKNAME__";
+    private static final String LINK_TOKEN = "__SIMPLE_LINK_LINK__";
+
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    public Prepared prepare(String linkName, String message) {
+        Context context = new Context();
+        context.setVariable("nickname", NICKNAME_TOKEN);
+        context.setVariable("link", LINK_TOKEN);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost());
+        return new Prepared(templateEngine.process(TEMPLATE, context));
+    }
+
+    public String render(String nickname, String link, String linkName, String message) {
+        return prepare(linkName, message).render(nickname, link);
+    }
+
+    public static class Prepared {
+        // 렌더링 결과를 토큰 기준으로 미리 잘라두고, 수신자마다 조각과 escape한 값을 이어 붙이기만 한다.
+
+        private final List<String> segments = new ArrayList<>();
+        private final List<Boolean> nicknameSlots = new ArrayList<>(); // true면 닉네임, false면 링크 자리
+        private final int length;
+
+        Prepared(String rendered) {
+            int from = 0;
+            while (true) {
+                int nickname = rendered.indexOf(NICKNAME_TOKEN, from);
+                int link = rendered.indexOf(LINK_TOKEN, from);
+                if (nickname < 0 && link < 0) {
+                    break;
+                }
+                boolean isNickname = link < 0 || (nickname >= 0 && nickname < link);
+                int index = isNickname ? nickname : link;
+                segments.add(rendered.substring(from, index));
+                nicknameSlots.add(isNickname);
+                from = index + (isNickname ? NICKNAME_TOKEN : LINK_TOKEN).length();
+            }
+            segments.add(rendered.substring(from));
+            this.length = rendered.length();
+        }
+
+        public String render(String nickname, String link) {
+            // th:text와 같은 방식으로 escape해서 Thymeleaf로 직접 렌더링한 결과와 동일하게 만든다.
+            String escapedNickname = HtmlEscape.escapeHtml4Xml(nickname);
+            String escapedLink = HtmlEscape.escapeHtml4Xml(link);
+            StringBuilder builder = new StringBuilder(length + escapedLink.length() * nicknameSlots.size());
+            for (int i = 0; i < nicknameSlots.size(); i++) {
+                builder.append(segments.get(i)).append(nicknameSlots.get(i) ? escapedNickname : escapedLink);
+            }
+            return builder.append(segments.get(segments.size() - 1)).toString();
+        }
+    }
+}
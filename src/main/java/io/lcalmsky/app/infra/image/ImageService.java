@@ -0,0 +1,150 @@
+package io.lcalmsky.app.infra.image;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+    // 설정 화면에서 전달되는 data URL(Base64) 이미지를 한 번만 디코딩해 ImageStore에 저장하고,
+    // 형식은 클라이언트가 보낸 MIME 타입이 아니라 내용의 시그니처(magic bytes)로 판단한다.
+    // 엔티티에는 이미지를 조회할 수 있는 짧은 경로(/image/{SHA-256}.{확장자})만 남긴다.
+    // 축소 이미지는 /image/{SHA-256}-{크기}.{확장자} 경로를 사용한다.
+
+    public static final String URL_PREFIX = "/image/";
+    private static final Pattern DATA_URL = Pattern.compile("^data:(image/[a-z+.-]+);base64,(.+)$", Pattern.DOTALL);
+    private static final Pattern KEY = Pattern.compile("^([0-9a-f]{64})(-(avatar|card|banner))?\\.(png|jpg|gif|webp)$");
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xff, (byte) 0xd8, (byte) 0xff};
+    private static final byte[] GIF87_SIGNATURE = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89_SIGNATURE = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] RIFF_SIGNATURE = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP_SIGNATURE = {'W', 'E', 'B', 'P'};
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "png", MediaType.IMAGE_PNG,
+            "jpg", MediaType.IMAGE_JPEG,
+            "gif", MediaType.IMAGE_GIF,
+            "webp", MediaType.parseMediaType("image/webp"));
+
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnailService;
+    private final AppProperties appProperties;
+
+    public String save(String image) {
+        // 이미지를 지우거나 이미 저장한 이미지 경로가 그대로 전달된 경우 그대로 반환한다.
+        if (image == null || image.isBlank()) {
+            return null;
+        }
+        if (isStoredImage(image)) {
+            return image;
+        }
+        Matcher matcher = DATA_URL.matcher(image);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+        }
+        byte[] content;
+        try {
+            content = Base64.getMimeDecoder().decode(matcher.group(2));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다.", e);
+        }
+        if (content.length == 0 || content.length > appProperties.getImage().getMaxBytes()) {
+            throw new IllegalArgumentException("이미지 크기가 너무 큽니다.");
+        }
+        String extension = detectExtension(content);
+        if (extension == null) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+        }
+        String key = sha256(content) + "." + extension;
+        imageStore.save(key, content);
+        thumbnailService.generateAsync(key); // 목록, 배너 등에서 사용할 축소 이미지는 백그라운드에서 만든다.
+        return URL_PREFIX + key;
+    }
+
+    public String thumbnail(String image, String size) {
+        // 화면에서 ${@imageService.thumbnail(account.profile.image, 'avatar')} 처럼 크기에 맞는 경로를 얻는다.
+        // 저장소로 옮기지 않은 이미지(data URL)는 원본을 그대로 사용한다.
+        if (!isStoredImage(image)) {
+            return image;
+        }
+        return URL_PREFIX + variantKey(image.substring(URL_PREFIX.length()), ImageSize.from(size));
+    }
+
+    public boolean isStoredImage(String image) {
+        return image != null && image.startsWith(URL_PREFIX) && isValidKey(image.substring(URL_PREFIX.length()));
+    }
+
+    public static boolean isValidKey(String key) {
+        return KEY.matcher(key).matches(); // 경로 조작을 막기 위해 해시와 확장자 형식만 허용
+    }
+
+    public static MediaType mediaTypeOf(String key) {
+        return MEDIA_TYPES.get(extensionOf(key));
+    }
+
+    public static String extensionOf(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    public static String variantKey(String key, ImageSize size) {
+        return originalKeyOf(key).replace(".", "-" + size.suffix() + ".");
+    }
+
+    public static String originalKeyOf(String key) {
+        Matcher matcher = KEY.matcher(key);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(key);
+        }
+        return matcher.group(1) + "." + matcher.group(4);
+    }
+
+    public static boolean isVariantKey(String key) {
+        return !originalKeyOf(key).equals(key);
+    }
+
+    static String detectExtension(byte[] content) {
+        if (startsWith(content, 0, PNG_SIGNATURE)) {
+            return "png";
+        }
+        if (startsWith(content, 0, JPEG_SIGNATURE)) {
+            return "jpg";
+        }
+        if (startsWith(content, 0, GIF87_SIGNATURE) || startsWith(content, 0, GIF89_SIGNATURE)) {
+            return "gif";
+        }
+        if (startsWith(content, 0, RIFF_SIGNATURE) && startsWith(content, 8, WEBP_SIGNATURE)) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] signature) {
+        if (content.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (content[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.lcalmsky.app.infra.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImageSize {
+    // 원본 비율을 유지한 채 가로, 세로 최대 크기 안에 맞춘다. 원본이 더 작으면 키우지 않는다.
+    AVATAR(128, 128), // 프로필 이미지(목록, 네비게이션 바, 프로필 화면)
+    CARD(640, 640), // 설정 화면 미리보기 등 중간 크기
+    BANNER(1200, 1200); // 스터디 상단 배너
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    public String suffix() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageSize from(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,15 @@
+package io.lcalmsky.app.infra.image;
+
+import org.springframework.core.io.Resource;
+
+import java.util.Optional;
+
+public interface ImageStore {
+    // 이미지 내용의 해시를 키로 사용하므로 같은 키에는 항상 같은 내용이 저장된다. 디스크 외의 저장소로 교체할 수 있도록 분리했다.
+
+    boolean exists(String key);
+
+    void save(String key, byte[] content);
+
+    Optional<Resource> find(String key);
+}
@@ -0,0 +1,66 @@
+package io.lcalmsky.app.infra.image;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class LocalDiskImageStore implements ImageStore {
+    // app.image.root-dir 아래에 키의 앞 네 글자로 두 단계 디렉터리를 만들어 저장한다. (ab/cd/abcd...png)
+    // 임시 파일에 쓴 뒤 이름을 바꾸므로 다른 요청이 쓰다 만 파일을 읽는 일이 없다.
+
+    private final Path root;
+
+    public LocalDiskImageStore(AppProperties appProperties) {
+        this.root = Paths.get(appProperties.getImage().getRootDir()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void save(String key, byte[] content) {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return; // 같은 내용이 이미 저장되어 있다.
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("image {} was stored concurrently", key);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to store image " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<Resource> find(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
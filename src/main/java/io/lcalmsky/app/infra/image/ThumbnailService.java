@@ -0,0 +1,172 @@
+package io.lcalmsky.app.infra.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class ThumbnailService {
+    // 저장한 원본 이미지로 ImageSize별 축소 이미지를 imageExecutor에서 만들어 같은 저장소에 저장한다.
+    // 축소 이미지 키는 원본 키에서 정해지므로(<hash>-<size>.<ext>) 화면에서는 만들어졌는지 확인하지 않고 바로 경로를 사용한다.
+    // 디코딩하기 전에 헤더의 가로, 세로 크기만 읽어 app.image.max-pixels를 넘는 이미지는 읽지 않는다(작은 파일로 큰 메모리를 할당시키는 공격 방지).
+    // 읽을 수 없는 이미지(webp, CMYK JPEG, 너무 큰 이미지)는 기억해 두고 요청마다 다시 시도하지 않는다.
+
+    private final ImageStore imageStore;
+    private final Executor imageExecutor;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+    private final Counter failed;
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> unreadable = Caffeine.newBuilder().maximumSize(10_000).build();
+
+    public ThumbnailService(ImageStore imageStore, @Qualifier("imageExecutor") Executor imageExecutor,
+                            AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.imageStore = imageStore;
+        this.imageExecutor = imageExecutor;
+        this.appProperties = appProperties;
+        this.meterRegistry = meterRegistry;
+        this.failed = meterRegistry.counter("image.thumbnail.failed");
+    }
+
+    public void generateAsync(String key) {
+        if (unreadable.getIfPresent(key) != null) {
+            return; // 원본을 그대로 사용한다.
+        }
+        if (!inProgress.add(key)) {
+            return; // 이미 만들고 있다.
+        }
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    generate(key);
+                } finally {
+                    inProgress.remove(key);
+                }
+            });
+        } catch (TaskRejectedException | RejectedExecutionException e) {
+            // 대기열이 가득 찬 경우 건너뛰고, 축소 이미지가 처음 요청될 때 다시 시도한다.
+            inProgress.remove(key);
+            log.warn("thumbnail generation for {} was rejected", key);
+        }
+    }
+
+    public void generate(String key) {
+        Optional<BufferedImage> source = read(key);
+        if (source.isEmpty()) {
+            return;
+        }
+        String format = ImageService.extensionOf(key);
+        for (ImageSize size : ImageSize.values()) {
+            String variant = ImageService.variantKey(key, size);
+            if (imageStore.exists(variant)) {
+                continue;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                imageStore.save(variant, encode(resize(source.get(), size, "jpg".equals(format)), format));
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                log.warn("failed to create {} thumbnail of {}", size, key, e);
+            } finally {
+                sample.stop(meterRegistry.timer("image.thumbnail", "size", size.suffix()));
+            }
+        }
+    }
+
+    private Optional<BufferedImage> read(String key) {
+        Optional<Resource> resource = imageStore.find(key);
+        if (resource.isEmpty()) {
+            return Optional.empty();
+        }
+        try (InputStream inputStream = resource.get().getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageInputStream == null ? Collections.emptyIterator() : ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                // ImageIO가 읽지 못하는 형식(webp 등)은 원본을 그대로 사용한다.
+                unreadable.put(key, Boolean.TRUE);
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > appProperties.getImage().getMaxPixels()) {
+                    unreadable.put(key, Boolean.TRUE);
+                    log.warn("image {} is too large to resize ({}x{})", key, reader.getWidth(0), reader.getHeight(0));
+                    return Optional.empty();
+                }
+                return Optional.of(reader.read(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 지원하지 않는 색 공간(CMYK JPEG 등)이나 손상된 이미지
+            unreadable.put(key, Boolean.TRUE);
+            failed.increment();
+            log.warn("failed to read image {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    static BufferedImage resize(BufferedImage source, ImageSize size, boolean opaque) {
+        double scale = Math.min(1.0, Math.min((double) size.getMaxWidth() / source.getWidth(),
+                (double) size.getMaxHeight() / source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        // 한 번에 크게 줄이면 bilinear 보간으로도 계단 현상이 생기므로 절반씩 나눠서 줄인다.
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg".equals(format) ? "jpeg" : format, outputStream)) {
+            throw new IOException("no image writer for " + format);
+        }
+        return outputStream.toByteArray();
+    }
+}
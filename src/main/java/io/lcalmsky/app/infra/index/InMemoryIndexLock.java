@@ -0,0 +1,60 @@
+package io.lcalmsky.app.infra.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+public class InMemoryIndexLock {
+    // 애플리케이션 시작 시 DB를 읽어 메모리에 만드는 색인(AccountInterestIndex, StudySearchIndex, StudyRecommender)의 읽기/쓰기 잠금.
+    // 색인은 이 서버의 메모리에만 있고 이 서버에서 커밋된 변경만 afterCommit으로 반영하므로 서버 한 대로 운영한다는 전제다.
+    // 여러 대로 운영한다면 다른 서버의 변경을 도메인 이벤트로 받아 반영하거나 주기적으로 다시 만들거나 외부 저장소로 옮겨야 한다.
+    // 색인을 만드는 동안 커밋된 변경은 쌓아 두었다가 다 만든 뒤 순서대로 반영해, 먼저 읽은 값이 나중 변경을 덮어쓰지 않도록 한다.
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Runnable> deferred = new ArrayList<>(); // 색인을 만드는 동안 커밋된 변경, 쓰기 잠금 안에서만 사용
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public <T> T read(Supplier<T> supplier) {
+        lock.readLock().lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void write(Runnable runnable) {
+        lock.writeLock().lock();
+        try {
+            runnable.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void apply(Runnable change) {
+        // 색인을 만드는 중이면 아직 읽지 않은 데이터가 이 변경을 덮어쓸 수 있으므로 쌓아 두었다가 ready에서 반영한다.
+        write(() -> {
+            if (ready) {
+                change.run();
+            } else {
+                deferred.add(change);
+            }
+        });
+    }
+
+    public void ready() {
+        // 쌓아 둔 변경을 반영한 뒤 같은 잠금 안에서 준비 상태로 바꿔 그 사이에 들어온 변경이 빠지지 않도록 한다.
+        write(() -> {
+            deferred.forEach(Runnable::run);
+            deferred.clear();
+            ready = true;
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package io.lcalmsky.app.infra.outbox;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface DomainEventExecutor {
+    // DomainEventRelay가 이 이벤트의 리스너를 실행할 실행기(Executor) 빈 이름.
+    // 지정하지 않은 이벤트는 relay 스레드에서 바로 실행한다.
+    String value();
+}
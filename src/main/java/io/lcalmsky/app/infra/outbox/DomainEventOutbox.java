@@ -0,0 +1,54 @@
+package io.lcalmsky.app.infra.outbox;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_domain_event_outbox_published", columnList = "published_at, id"),
+        @Index(name = "idx_domain_event_outbox_created", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DomainEventOutbox {
+    // 도메인 이벤트를 발생시킨 트랜잭션과 같은 트랜잭션에서 저장하고, 커밋된 뒤 DomainEventRelay가 발행한다.
+    // 발행한 이벤트도 보관 기간 동안 남겨두어 다시 발행(replay)할 수 있다.
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    private int attempts;
+
+    public static DomainEventOutbox of(String eventType, String payload) {
+        DomainEventOutbox domainEventOutbox = new DomainEventOutbox();
+        domainEventOutbox.eventType = eventType;
+        domainEventOutbox.payload = payload;
+        domainEventOutbox.createdAt = LocalDateTime.now();
+        return domainEventOutbox;
+    }
+
+    public void published() {
+        this.attempts++;
+        this.publishedAt = LocalDateTime.now();
+    }
+
+    public void failed() {
+        this.attempts++;
+    }
+}
@@ -0,0 +1,28 @@
+package io.lcalmsky.app.infra.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface DomainEventOutboxRepository extends JpaRepository<DomainEventOutbox, Long> {
+
+    List<DomainEventOutbox> findByPublishedAtIsNullAndAttemptsLessThanAndIdGreaterThanOrderByIdAsc(int maxAttempts, Long id, Pageable pageable);
+
+    long countByPublishedAtIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("update DomainEventOutbox o set o.publishedAt = null, o.attempts = 0 where o.createdAt >= :since")
+    int markUnpublishedSince(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from DomainEventOutbox o where o.publishedAt < :before")
+    int deletePublishedBefore(LocalDateTime before);
+}
@@ -0,0 +1,28 @@
+package io.lcalmsky.app.infra.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+    // ApplicationEventPublisher로 바로 발행하면 비동기 리스너가 커밋되기 전의 데이터를 조회하거나,
+    // 트랜잭션이 롤백되어도 알림이 나가거나, 서버가 종료되면 이벤트가 사라질 수 있다.
+    // 이벤트를 outbox 테이블에 같은 트랜잭션으로 저장만 하고, 실제 발행은 DomainEventRelay가 커밋 이후에 한다.
+
+    private final DomainEventOutboxRepository domainEventOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Object event) {
+        try {
+            domainEventOutboxRepository.save(DomainEventOutbox.of(event.getClass().getName(), objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("cannot serialize domain event " + event.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.lcalmsky.app.infra.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Component
+public class DomainEventRelay {
+    // 커밋된 outbox 이벤트를 id 순서대로 묶어서 조회해 ApplicationEventPublisher로 발행한다.
+    // 리스너는 이벤트에 지정된 실행기(@DomainEventExecutor)에서 실행하고, 이벤트마다 리스너가 끝나면 publishedAt이나 실패 횟수를 기록한다.
+    // 묶음 전체가 끝나기를 기다리지 않으므로 오래 걸리는 리스너(스터디 공개 fan-out)가 다른 이벤트의 발행을 늦추지 않는다.
+    // 리스너가 실행 중인 이벤트는 다시 발행하지 않는다. 리스너가 실패하거나 기록 전에 서버가 종료되면 다시 발행된다(at-least-once).
+    // 리스너는 같은 이벤트를 두 번 받을 수 있다는 전제로 id로 최신 데이터를 다시 조회해서 처리한다.
+
+    private static final Duration PENDING_COUNT_INTERVAL = Duration.ofSeconds(30);
+
+    private final DomainEventOutboxRepository domainEventOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+    private final Map<String, Executor> executors;
+    private final Timer lagTimer;
+    private final Counter failedCounter;
+    private final Map<Long, InFlight> inFlight = new ConcurrentHashMap<>(); // 리스너가 실행 중이거나 이번 주기에 끝난 outbox id
+    private volatile long pendingCount;
+    private volatile long pendingCountedAt = System.nanoTime() - PENDING_COUNT_INTERVAL.toNanos();
+
+    public DomainEventRelay(DomainEventOutboxRepository domainEventOutboxRepository, ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper, TransactionTemplate transactionTemplate, AppProperties appProperties,
+                            Map<String, Executor> executors, MeterRegistry meterRegistry) {
+        this.domainEventOutboxRepository = domainEventOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.appProperties = appProperties;
+        this.executors = executors;
+        this.lagTimer = meterRegistry.timer("domain.event.relay.lag"); // 이벤트 저장부터 발행까지 걸린 시간
+        this.failedCounter = meterRegistry.counter("domain.event.relay.failed");
+        meterRegistry.gauge("domain.event.outbox.pending", this, DomainEventRelay::pendingCount);
+        meterRegistry.gauge("domain.event.relay.in-flight", this, DomainEventRelay::inFlightCount);
+    }
+
+    @Scheduled(fixedDelayString = "${app.domain-events.relay-interval-millis:500}")
+    public void relay() {
+        AppProperties.DomainEvents domainEvents = appProperties.getDomainEvents();
+        // 이전 주기가 시작된 뒤에 끝난 이벤트는 이번 주기의 조회보다 먼저 커밋됐으므로 목록에서 지워도 다시 발행되지 않는다.
+        inFlight.values().removeIf(InFlight::isDone);
+        warnSlowHandlers(domainEvents.getHandlerTimeout());
+        int batchSize = domainEvents.getBatchSize();
+        long lastId = 0;
+        List<DomainEventOutbox> batch;
+        do {
+            // 최대 횟수만큼 실패한 이벤트는 더 이상 발행하지 않고 replay로 다시 발행할 때까지 남겨둔다.
+            // 실행 중인 이벤트를 건너뛰어도 같은 묶음을 반복해서 조회하지 않도록 id 순서로 이어서 조회한다.
+            batch = domainEventOutboxRepository.findByPublishedAtIsNullAndAttemptsLessThanAndIdGreaterThanOrderByIdAsc(
+                    domainEvents.getMaxAttempts(), lastId, PageRequest.of(0, batchSize));
+            for (DomainEventOutbox domainEventOutbox : batch) {
+                InFlight handling = new InFlight();
+                if (inFlight.putIfAbsent(domainEventOutbox.getId(), handling) == null) {
+                    dispatch(domainEventOutbox).whenComplete((result, e) -> complete(domainEventOutbox, handling, e));
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void complete(DomainEventOutbox domainEventOutbox, InFlight handling, Throwable e) {
+        // 리스너를 실행한 스레드에서 이벤트마다 결과를 기록한다.
+        try {
+            if (e == null) {
+                domainEventOutbox.published();
+                lagTimer.record(Duration.between(domainEventOutbox.getCreatedAt(), domainEventOutbox.getPublishedAt()));
+            } else {
+                domainEventOutbox.failed();
+                failedCounter.increment();
+                log.error("failed to relay domain event {} ({})", domainEventOutbox.getId(), domainEventOutbox.getEventType(), e);
+            }
+            transactionTemplate.executeWithoutResult(status -> domainEventOutboxRepository.save(domainEventOutbox));
+        } catch (RuntimeException saveFailure) {
+            // 기록하지 못한 이벤트는 발행되지 않은 상태로 남아 있으므로 다시 발행된다.
+            log.error("failed to record the result of domain event {}", domainEventOutbox.getId(), saveFailure);
+        } finally {
+            handling.done = true;
+        }
+    }
+
+    private void warnSlowHandlers(Duration timeout) {
+        // 오래 걸리는 리스너도 끝날 때까지 기다리고 다시 발행하지 않는다. 멈춘 리스너를 찾을 수 있도록 한 번만 경고를 남긴다.
+        long now = System.nanoTime();
+        inFlight.forEach((id, handling) -> {
+            if (!handling.done && !handling.warned && now - handling.startedAt > timeout.toNanos()) {
+                handling.warned = true;
+                log.warn("domain event {} has been handled for more than {}", id, timeout);
+            }
+        });
+    }
+
+    int inFlightCount() {
+        return (int) inFlight.values().stream().filter(handling -> !handling.done).count();
+    }
+
+    private double pendingCount() {
+        // 지표를 수집할 때마다 count 하지 않도록 PENDING_COUNT_INTERVAL 동안 이전 값을 사용한다.
+        long now = System.nanoTime();
+        if (now - pendingCountedAt >= PENDING_COUNT_INTERVAL.toNanos()) {
+            pendingCount = domainEventOutboxRepository.countByPublishedAtIsNull();
+            pendingCountedAt = now;
+        }
+        return pendingCount;
+    }
+
+    private CompletableFuture<Void> dispatch(DomainEventOutbox domainEventOutbox) {
+        try {
+            Object event = objectMapper.readValue(domainEventOutbox.getPayload(), Class.forName(domainEventOutbox.getEventType()));
+            // 리스너에서 던진 예외는 publishEvent를 호출한 스레드로 전달되므로 future가 실패로 끝난다.
+            return CompletableFuture.runAsync(() -> eventPublisher.publishEvent(event), executorFor(event.getClass()));
+        } catch (Exception e) {
+            // 복원할 수 없는 이벤트와 실행기가 거절(ABORT)한 이벤트
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Executor executorFor(Class<?> eventType) {
+        DomainEventExecutor domainEventExecutor = AnnotationUtils.findAnnotation(eventType, DomainEventExecutor.class);
+        if (domainEventExecutor == null) {
+            return Runnable::run;
+        }
+        Executor executor = executors.get(domainEventExecutor.value());
+        if (executor == null) {
+            throw new IllegalStateException("no executor named " + domainEventExecutor.value() + " for " + eventType.getName());
+        }
+        return executor;
+    }
+
+    public int replay(LocalDateTime since) {
+        // since 이후에 저장된 이벤트를 다시 발행 대상으로 만든다. 장애 복구 시 누락된 알림을 다시 보내기 위해 사용한다.
+        int count = domainEventOutboxRepository.markUnpublishedSince(since);
+        log.info("{} domain events since {} will be replayed", count, since);
+        return count;
+    }
+
+    @Scheduled(cron = "${app.domain-events.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        // 보관 기간이 지난 발행 완료 이벤트는 삭제한다.
+        int count = domainEventOutboxRepository.deletePublishedBefore(LocalDateTime.now().minus(appProperties.getDomainEvents().getRetention()));
+        log.info("purged {} published domain events", count);
+    }
+
+    private static class InFlight {
+        private final long startedAt = System.nanoTime();
+        private volatile boolean done;
+        private volatile boolean warned;
+
+        boolean isDone() {
+            return done;
+        }
+    }
+}
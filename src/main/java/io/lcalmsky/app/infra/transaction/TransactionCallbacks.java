@@ -0,0 +1,25 @@
+package io.lcalmsky.app.infra.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionCallbacks {
+    // 메모리에 있는 색인, 캐시, 카운터는 DB 변경이 커밋된 이후에 반영해야 롤백된 변경이 남지 않는다.
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable runnable) {
+        // 트랜잭션 밖에서 호출되면 바로 실행하고, 트랜잭션 안에서 호출되면 커밋된 이후에 실행한다. 롤백되면 실행하지 않는다.
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
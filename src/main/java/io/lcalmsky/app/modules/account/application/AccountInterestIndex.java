@@ -0,0 +1,122 @@
+package io.lcalmsky.app.modules.account.application;
+
+import io.lcalmsky.app.infra.index.InMemoryIndexLock;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountInterestIndex {
+    // 관심 주제(Tag)와 활동 지역(Zone)별로 관심 있는 계정을 BitSet으로 들고 있는 역색인.
+    // "태그 중 하나 AND 지역 중 하나"에 해당하는 계정을 join 테이블 서브쿼리 대신 비트 연산(OR 후 AND)으로 찾는다.
+    // 계정 id는 등록된 순서대로 0부터 시작하는 순번(ordinal)으로 바꿔 비트 위치로 사용한다.
+    // 읽기/쓰기 잠금과 색인을 만드는 동안 커밋된 변경의 처리는 InMemoryIndexLock에 맡긴다.
+
+    private static final int BOOTSTRAP_ID_RANGE = 10_000;
+
+    private final AccountRepository accountRepository;
+    private final InMemoryIndexLock lock = new InMemoryIndexLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] accountIds = new long[1024];
+    private final Map<Long, BitSet> byTag = new HashMap<>();
+    private final Map<Long, BitSet> byZone = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        // account_tags, account_zones를 계정 id 구간별로 나눠 읽어 색인을 만든다.
+        long started = System.currentTimeMillis();
+        Long maxId = accountRepository.findMaxId();
+        for (long from = 0; maxId != null && from < maxId; from += BOOTSTRAP_ID_RANGE) {
+            List<Object[]> tagPairs = accountRepository.findTagIdPairs(from, from + BOOTSTRAP_ID_RANGE);
+            List<Object[]> zonePairs = accountRepository.findZoneIdPairs(from, from + BOOTSTRAP_ID_RANGE);
+            lock.write(() -> {
+                tagPairs.forEach(pair -> set(byTag, (Long) pair[0], (Long) pair[1]));
+                zonePairs.forEach(pair -> set(byZone, (Long) pair[0], (Long) pair[1]));
+            });
+        }
+        lock.ready();
+        log.info("account interest index is ready: {} accounts, {} tags, {} zones in {} ms",
+                ordinals.size(), byTag.size(), byZone.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return lock.isReady();
+    }
+
+    public long[] findAccountIds(Collection<Long> tagIds, Collection<Long> zoneIds) {
+        return lock.read(() -> {
+            BitSet result = union(byTag, tagIds);
+            result.and(union(byZone, zoneIds));
+            long[] ids = new long[result.cardinality()];
+            int index = 0;
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                ids[index++] = accountIds[ordinal];
+            }
+            return ids;
+        });
+    }
+
+    public void addTag(Long accountId, Long tagId) {
+        afterCommit(() -> lock.apply(() -> set(byTag, accountId, tagId)));
+    }
+
+    public void removeTag(Long accountId, Long tagId) {
+        afterCommit(() -> lock.apply(() -> clear(byTag, accountId, tagId)));
+    }
+
+    public void addZone(Long accountId, Long zoneId) {
+        afterCommit(() -> lock.apply(() -> set(byZone, accountId, zoneId)));
+    }
+
+    public void removeZone(Long accountId, Long zoneId) {
+        afterCommit(() -> lock.apply(() -> clear(byZone, accountId, zoneId)));
+    }
+
+    private BitSet union(Map<Long, BitSet> index, Collection<Long> keys) {
+        BitSet union = new BitSet();
+        for (Long key : keys) {
+            BitSet bitSet = index.get(key);
+            if (bitSet != null) {
+                union.or(bitSet);
+            }
+        }
+        return union;
+    }
+
+    private void set(Map<Long, BitSet> index, Long accountId, Long key) {
+        index.computeIfAbsent(key, k -> new BitSet()).set(ordinalOf(accountId));
+    }
+
+    private void clear(Map<Long, BitSet> index, Long accountId, Long key) {
+        Integer ordinal = ordinals.get(accountId);
+        BitSet bitSet = index.get(key);
+        if (ordinal != null && bitSet != null) {
+            bitSet.clear(ordinal);
+        }
+    }
+
+    private int ordinalOf(Long accountId) {
+        return ordinals.computeIfAbsent(accountId, id -> {
+            int ordinal = ordinals.size();
+            if (ordinal == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, ordinal * 2);
+            }
+            accountIds[ordinal] = id;
+            return ordinal;
+        });
+    }
+}
@@ -1,18 +1,21 @@
 package io.lcalmsky.app.modules.account.application;
 
-import io.lcalmsky.app.infra.config.AppProperties;
 import io.lcalmsky.app.infra.email.EmailMessage;
 import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
+import io.lcalmsky.app.infra.image.ImageService;
 import io.lcalmsky.app.modules.account.domain.UserAccount;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.domain.entity.Zone;
 import io.lcalmsky.app.modules.account.endpoint.controller.form.NotificationForm;
+import io.lcalmsky.app.modules.account.event.AccountInterestsChangedEvent;
 import io.lcalmsky.app.modules.account.endpoint.controller.form.Profile;
 import io.lcalmsky.app.modules.account.endpoint.controller.form.SignUpForm;
 import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
 import io.lcalmsky.app.modules.tag.domain.entity.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,8 +25,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -40,8 +41,10 @@ public class AccountService implements UserDetailsService {
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder; // 인코더 빈 주입
     private final EmailService emailService;
-    private final TemplateEngine templateEngine; // HTML 메시지를 생성하기 위해 주입
-    private final AppProperties appProperties; // 호스트 정보를 획득하기 위해 주입
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer; // HTML 메시지를 생성하기 위해 주입
+    private final AccountInterestIndex accountInterestIndex; // 스터디 알림 대상 계정을 찾기 위한 관심 주제/지역 색인
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageService imageService;
 
 
     public Account signUp(SignUpForm signUpForm) {
@@ -80,14 +83,9 @@ public class AccountService implements UserDetailsService {
     }
 
     public void sendVerificationEmail(Account newAccount) { // (3)
-        Context context = new Context();
-        context.setVariable("link", String.format("/check-email-token?token=%s&email=%s", newAccount.getEmailToken(),
-                newAccount.getEmail()));
-        context.setVariable("nickname", newAccount.getNickname());
-        context.setVariable("linkName", "이메일 인증하기");
-        context.setVariable("message", "FRITZ 가입 인증을 위해 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = simpleLinkMailRenderer.render(newAccount.getNickname(),
+                String.format("/check-email-token?token=%s&email=%s", newAccount.getEmailToken(), newAccount.getEmail()),
+                "이메일 인증하기", "FRITZ 가입 인증을 위해 링크를 클릭하세요.");
         emailService.sendEmail(EmailMessage.builder()
                 .to(newAccount.getEmail())
                 .subject("FRITZ 회원 가입 인증")
@@ -130,6 +128,7 @@ public class AccountService implements UserDetailsService {
     }
 
     public void updateProfile(Account account, Profile profile) {
+        profile.setImage(imageService.save(profile.getImage())); // 이미지는 디스크에 저장하고 조회 경로만 계정에 저장
         account.updateProfile(profile);
         accountRepository.save(account); // 수정한 정보를 Repository를 통해 저장
     }
@@ -151,13 +150,9 @@ public class AccountService implements UserDetailsService {
     }
 
     public void sendLoginLink(Account account) { // (4)
-        Context context = new Context();
-        context.setVariable("link", "/login-by-email?token=" + account.getEmailToken() + "&email=" + account.getEmail());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "FRITZ 로그인하기");
-        context.setVariable("message", "로그인 하려면 아래 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = simpleLinkMailRenderer.render(account.getNickname(),
+                "/login-by-email?token=" + account.getEmailToken() + "&email=" + account.getEmail(),
+                "FRITZ 로그인하기", "로그인 하려면 아래 링크를 클릭하세요.");
         account.generateToken();
         emailService.sendEmail(EmailMessage.builder()
                 .to(account.getEmail())
@@ -169,7 +164,11 @@ public class AccountService implements UserDetailsService {
     public void addTag(Account account, Tag tag) {
         // 계정 정보를 먼저 찾은 뒤 계정이 존재하면 태그를 추가
         accountRepository.findById(account.getId())
-                .ifPresent(a -> a.getTags().add(tag));
+                .ifPresent(a -> {
+                    a.getTags().add(tag);
+                    accountInterestIndex.addTag(a.getId(), tag.getId()); // 커밋된 이후에 색인에 반영
+                    eventPublisher.publishEvent(new AccountInterestsChangedEvent(a.getId()));
+                });
     }
 
     public Set<Tag> getTags(Account account) {
@@ -180,8 +179,11 @@ public class AccountService implements UserDetailsService {
     public void removeTag(Account account, Tag tag) {
         // 계정 정보를 찾은 뒤 계정 정보가 존재하면 그 계정을 가지는 태그 정보를 가져와 전달한 태그를 삭제
          accountRepository.findById(account.getId())
-                .map(Account::getTags)
-                .ifPresent(tags -> tags.remove(tag));
+                .ifPresent(a -> {
+                    a.getTags().remove(tag);
+                    accountInterestIndex.removeTag(a.getId(), tag.getId());
+                    eventPublisher.publishEvent(new AccountInterestsChangedEvent(a.getId()));
+                });
 
     }
 
@@ -193,12 +195,20 @@ public class AccountService implements UserDetailsService {
 
     public void addZone(Account account, Zone zone) {
         accountRepository.findById(account.getId())
-                .ifPresent(a -> a.getZones().add(zone));
+                .ifPresent(a -> {
+                    a.getZones().add(zone);
+                    accountInterestIndex.addZone(a.getId(), zone.getId());
+                    eventPublisher.publishEvent(new AccountInterestsChangedEvent(a.getId()));
+                });
     }
 
     public void removeZone(Account account, Zone zone) {
         accountRepository.findById(account.getId())
-                .ifPresent(a -> a.getZones().remove(zone));
+                .ifPresent(a -> {
+                    a.getZones().remove(zone);
+                    accountInterestIndex.removeZone(a.getId(), zone.getId());
+                    eventPublisher.publishEvent(new AccountInterestsChangedEvent(a.getId()));
+                });
     }
 
     public Account getAccountBy(String nickname) {
@@ -0,0 +1,15 @@
+package io.lcalmsky.app.modules.account.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class NotificationRecipient {
+    // 알림 대상 계정 중 알림 발송에 필요한 값만 담는다. Account 엔티티 전체(관심사, 지역, 프로필 이미지 등)를 메모리에 올리지 않기 위해 사용
+    private final Long id;
+    private final String email;
+    private final String nickname;
+    private final boolean byEmail;
+    private final boolean byWeb;
+}
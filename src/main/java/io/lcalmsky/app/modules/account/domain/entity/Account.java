@@ -13,7 +13,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
-import static javax.persistence.FetchType.EAGER;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
@@ -126,13 +125,8 @@ public class Account extends AuditingEntity {
         private String location;
         private String company;
 
-        @Lob @Basic(fetch = EAGER)
-        // 데이터베이스 BLOB, CLOB 타입과 매핑
-        //• @Lob에는 지정할 수 있는 속성이 없다.
-        //• 매핑하는 필드 타입이 문자면 CLOB 매핑, 나머지는 BLOB 매핑
-        // • CLOB: String, char[], java.sql.CLOB
-        //• BLOB: byte[], java.sql. BLOB
-        // @Lob의 경우 String 은 CLOB으로 생성된다.
+        // Base64 이미지를 @Lob으로 저장하면 계정을 조회할 때마다(세션의 UserAccount 포함) 이미지 전체를 읽게 되므로
+        // 이미지 내용은 ImageStore에 저장하고 조회 경로(/image/{hash}.{ext})만 저장한다.
         private String image;
     }
 
@@ -82,7 +82,13 @@ public class SettingsController {
             model.addAttribute(account);
             return SETTINGS_PROFILE_VIEW_NAME;
         }
-        accountService.updateProfile(account, profile); //프로필 업데이트를 위임함에 사용
+        try {
+            accountService.updateProfile(account, profile); //프로필 업데이트를 위임함에 사용
+        } catch (IllegalArgumentException e) { // 이미지 형식이 잘못되었거나 너무 큰 경우
+            errors.rejectValue("image", "wrong.value", e.getMessage());
+            model.addAttribute(account);
+            return SETTINGS_PROFILE_VIEW_NAME;
+        }
         attributes.addFlashAttribute("message", "프로필을 수정하였습니다.");
         // 리다이렉트 시 addFlashAttribute를 이용해 1회성 데이터를 전달합니다.
         // 앞서 에러인 경우에 대해 처리했기 때문에 성공했을 때 전달할 메시지를 attribute로 추가합니다.
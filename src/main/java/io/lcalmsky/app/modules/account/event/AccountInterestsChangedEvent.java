@@ -0,0 +1,11 @@
+package io.lcalmsky.app.modules.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountInterestsChangedEvent {
+    // 계정의 관심 주제나 활동 지역이 바뀌었을 때 발생, 계정별로 캐시한 추천 스터디 목록을 비우는 데 사용한다.
+    private final Long accountId;
+}
@@ -2,12 +2,17 @@ package io.lcalmsky.app.modules.account.infra.repository;
 
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Transactional(readOnly = true)
-public interface AccountRepository extends JpaRepository<Account, Long>, QuerydslPredicateExecutor<Account> {
+public interface AccountRepository extends JpaRepository<Account, Long>, QuerydslPredicateExecutor<Account>, AccountRepositoryExtension {
 
     boolean existsByEmail(String email);
 
@@ -19,4 +24,24 @@ public interface AccountRepository extends JpaRepository<Account, Long>, Queryds
 
     @EntityGraph(attributePaths = {"tags", "zones"})
     Account findAccountWithTagsAndZonesById(Long id);
+
+    @Query("select max(a.id) from Account a")
+    Long findMaxId();
+
+    @Query("select a.id, t.id from Account a join a.tags t where a.id > :fromId and a.id <= :toId")
+    List<Object[]> findTagIdPairs(long fromId, long toId);
+
+    @Query("select a.id, z.id from Account a join a.zones z where a.id > :fromId and a.id <= :toId")
+    List<Object[]> findZoneIdPairs(long fromId, long toId);
+
+    @Query("select a.id from Account a where a.profile.image like 'data:%' and a.id > :lastId order by a.id")
+    List<Long> findIdsWithInlineImageAfter(Long lastId, Pageable pageable);
+
+    @Query("select a.profile.image from Account a where a.id = :id")
+    String findImageById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Account a set a.profile.image = :image where a.id = :id")
+    int updateImage(Long id, String image);
 }
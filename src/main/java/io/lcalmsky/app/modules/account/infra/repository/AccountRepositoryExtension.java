@@ -0,0 +1,17 @@
+package io.lcalmsky.app.modules.account.infra.repository;
+
+import io.lcalmsky.app.modules.account.domain.NotificationRecipient;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public interface AccountRepositoryExtension {
+    List<NotificationRecipient> findStudyCreatedRecipients(Set<Tag> tags, Set<Zone> zones, Long lastId, int size);
+
+    List<NotificationRecipient> findStudyCreatedRecipients(Collection<Long> accountIds);
+}
@@ -0,0 +1,68 @@
+package io.lcalmsky.app.modules.account.infra.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import io.lcalmsky.app.modules.account.domain.NotificationRecipient;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.QAccount;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.predicates.AccountPredicates;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class AccountRepositoryExtensionImpl extends QuerydslRepositorySupport implements AccountRepositoryExtension {
+
+    public AccountRepositoryExtensionImpl() {
+        super(Account.class);
+    }
+
+    @Override
+    public List<NotificationRecipient> findStudyCreatedRecipients(Set<Tag> tags, Set<Zone> zones, Long lastId, int size) {
+        QAccount account = QAccount.account;
+        BooleanBuilder where = new BooleanBuilder(AccountPredicates.findByTagsAndZones(tags, zones))
+                .and(studyCreatedNotificationEnabled());
+        if (lastId != null) {
+            where.and(account.id.gt(lastId));
+        }
+        return from(account)
+                .select(recipient())
+                .where(where)
+                .orderBy(account.id.asc())
+                .limit(size)
+                .fetch();
+    }
+
+    @Override
+    public List<NotificationRecipient> findStudyCreatedRecipients(Collection<Long> accountIds) {
+        // AccountInterestIndex로 찾은 계정 id를 기본키로 조회하므로 join 테이블을 확인하지 않는다.
+        QAccount account = QAccount.account;
+        return from(account)
+                .select(recipient())
+                .where(account.id.in(accountIds), studyCreatedNotificationEnabled())
+                .fetch();
+    }
+
+    private BooleanExpression studyCreatedNotificationEnabled() {
+        QAccount account = QAccount.account;
+        return account.notificationSetting.studyCreatedByEmail.isTrue()
+                .or(account.notificationSetting.studyCreatedByWeb.isTrue());
+    }
+
+    private ConstructorExpression<NotificationRecipient> recipient() {
+        QAccount account = QAccount.account;
+        return Projections.constructor(NotificationRecipient.class,
+                account.id,
+                account.email,
+                account.nickname,
+                account.notificationSetting.studyCreatedByEmail,
+                account.notificationSetting.studyCreatedByWeb);
+    }
+    // offset 대신 마지막으로 조회한 id 이후부터 조회(keyset)하기 때문에 대상 계정이 많아져도 페이지마다 조회 비용이 일정하다.
+    // 엔티티가 아닌 필요한 컬럼만 projection 하므로 영속성 컨텍스트에 쌓이지 않는다.
+}
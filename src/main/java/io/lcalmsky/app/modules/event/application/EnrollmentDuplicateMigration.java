@@ -0,0 +1,78 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrollmentDuplicateMigration {
+    // 참가 신청에 uk_enrollment_event_account 유니크 제약 조건을 추가하기 전에 같은 계정이 두 번 저장된 신청이 있으면
+    // ddl-auto: update가 제약 조건을 추가하지 못하고 경고만 남긴다(local-db 프로필).
+    // 제약 조건이 없으면 중복 신청을 하나만 남기고 지운 뒤 직접 추가한다. 추가한 뒤에는 제약 조건을 확인하는 조회 한 번으로 끝난다.
+    // 운영 DB는 배포 전에 removeDuplicates와 같은 SQL로 중복을 정리하고 제약 조건을 추가해 둔다.
+
+    static final String CONSTRAINT_NAME = "uk_enrollment_event_account";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        // create-drop으로 테이블을 만드는 H2에는 제약 조건이 항상 있으므로 PostgreSQL에서만 확인한다.
+        if (!isPostgreSql() || hasConstraint()) {
+            return;
+        }
+        removeDuplicates();
+        try {
+            jdbcTemplate.execute("alter table enrollment add constraint " + CONSTRAINT_NAME + " unique (event_id, account_id)");
+            log.info("added unique constraint {}", CONSTRAINT_NAME);
+        } catch (DataAccessException e) {
+            // 정리한 뒤에 다시 중복 신청이 저장됐다면 다음 실행에서 다시 정리한다.
+            log.warn("failed to add unique constraint {}, retrying on next startup", CONSTRAINT_NAME, e);
+        }
+    }
+
+    public int removeDuplicates() {
+        // 지운 신청이 확정 인원과 대기 인원에 포함되어 있으므로 해당 모임의 인원 수를 다시 계산한다.
+        Integer removed = transactionTemplate.execute(status -> {
+            List<Long> eventIds = enrollmentRepository.findEventIdsWithDuplicates();
+            if (eventIds.isEmpty()) {
+                return 0;
+            }
+            int deleted = enrollmentRepository.deleteDuplicates();
+            eventRepository.clearCounts(eventIds);
+            eventRepository.initializeCounts();
+            return deleted;
+        });
+        if (removed != null && removed > 0) {
+            log.info("removed {} duplicate enrollments", removed);
+        }
+        return removed == null ? 0 : removed;
+    }
+
+    private boolean isPostgreSql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private boolean hasConstraint() {
+        Integer constraints = jdbcTemplate.queryForObject("select count(*) from information_schema.table_constraints " +
+                "where table_schema = current_schema() and table_name = 'enrollment' and constraint_name = ?",
+                Integer.class, CONSTRAINT_NAME);
+        return constraints != null && constraints > 0;
+    }
+}
@@ -0,0 +1,70 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+public class EnrollmentEngine {
+    // 참가 신청 요청을 트랜잭션 밖에서 받아 EventService.enroll을 한 트랜잭션씩 실행한다.
+    // 좌석은 EventRepository.claimSeat의 조건부 UPDATE로, 중복 신청은 (event, account) 유니크 제약으로 막는다.
+    // 잠금 대기 시간 초과나 교착 상태처럼 다시 실행하면 성공할 수 있는 오류는 잠시 기다렸다가 다시 시도한다.
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private final EventService eventService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final Counter retries;
+
+    public EnrollmentEngine(EventService eventService, EnrollmentRepository enrollmentRepository, MeterRegistry meterRegistry) {
+        this.eventService = eventService;
+        this.enrollmentRepository = enrollmentRepository;
+        this.retries = meterRegistry.counter("event.enrollment.retries");
+    }
+
+    public void enroll(Long eventId, Account account) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 이미 트랜잭션 안에서 호출되면 롤백된 트랜잭션을 다시 쓸 수 없으므로 한 번만 실행한다.
+            eventService.enroll(eventId, account);
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                eventService.enroll(eventId, account);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 같은 계정의 다른 요청이 먼저 커밋했다면 이미 신청된 것이므로 성공으로 본다.
+                if (enrollmentRepository.existsByEventIdAndAccountId(eventId, account.getId())) {
+                    return;
+                }
+                throw e;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                retries.increment();
+                log.debug("retrying enrollment for event {} (attempt {}): {}", eventId, attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        // 같은 순간에 실패한 요청들이 다시 한꺼번에 몰리지 않도록 대기 시간을 흩뜨린다.
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5L * attempt, 20L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("enrollment retry interrupted", e);
+        }
+    }
+}
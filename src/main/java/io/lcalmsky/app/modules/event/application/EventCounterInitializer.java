@@ -0,0 +1,26 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventCounterInitializer {
+    // acceptedCount, waitingCount 컬럼을 추가하기 전에 만들어진 모임은 값이 비어 있으므로 참가 신청 내역으로 한 번 계산한다.
+    // 계산한 뒤에는 조건에 맞는 행이 없으므로 다음 실행부터는 갱신되는 행이 없다.
+
+    private final EventRepository eventRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        int events = eventRepository.initializeCounts();
+        if (events > 0) {
+            log.info("initialized enrollment counts of {} events", events);
+        }
+    }
+}
@@ -1,20 +1,33 @@
 package io.lcalmsky.app.modules.event.application;
 
+import io.lcalmsky.app.infra.outbox.DomainEventPublisher;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.domain.SeatReservation;
 import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
 import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
 import io.lcalmsky.app.modules.event.event.EnrollmentAcceptedEvent;
+import io.lcalmsky.app.modules.event.event.EnrollmentRejectedEvent;
+import io.lcalmsky.app.modules.event.event.WaitingListAcceptedEvent;
 import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
 import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
 import io.lcalmsky.app.modules.study.event.StudyUpdateEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -23,54 +36,116 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final AccountRepository accountRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     public Event createEvent(Study study, EventForm eventForm, Account account) {
-        Event event = Event.from(eventForm, account, study);
-        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(), "'" + event.getTitle() + "' 모임이 생성되었습니다."));
-        return eventRepository.save(event);
+        Event event = eventRepository.save(Event.from(eventForm, account, study));
+        eventPublisher.publish(new StudyUpdateEvent(study.getId(), "'" + event.getTitle() + "' 모임이 생성되었습니다."));
+        // 모임을 먼저 저장한 뒤 이벤트를 같은 트랜잭션의 outbox에 기록한다.
+        return event;
     }
 
     public void updateEvent(Event event, EventForm eventForm) {
         event.updateFrom(eventForm);
-        event.acceptWaitingList(); // 모임 인원 수정시에도 반영될 수 있게 대기 목록에 있는 사용자들을 추가시켜 준다.
-        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(), "'" + event.getTitle() + "' 모임이 정보가 수정되었습니다."));
+        acceptWaitingList(event); // 모임 인원 수정시에도 반영될 수 있게 대기 목록에 있는 사용자들을 추가시켜 준다.
+        eventPublisher.publish(new StudyUpdateEvent(event.getStudy().getId(), "'" + event.getTitle() + "' 모임이 정보가 수정되었습니다."));
     }
 
     public void deleteEvent(Event event) {
         eventRepository.delete(event);
-        eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(), "'" + event.getTitle() + "' 모임이 취소되었습니다."));
+        eventPublisher.publish(new StudyUpdateEvent(event.getStudy().getId(), "'" + event.getTitle() + "' 모임이 취소되었습니다."));
+    }
+
+    public void enroll(Long eventId, Account account) {
+        enroll(eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException(eventId + "에 해당하는 모임이 없습니다.")), account);
     }
 
     public void enroll(Event event, Account account) {
         if (!enrollmentRepository.existsByEventAndAccount(event, account)) { // 모임에 해당 계정이 참가한 내역이 있는지 확인한다.
-            Enrollment enrollment = Enrollment.of(LocalDateTime.now(), event.isAbleToAcceptWaitingEnrollment(), account);
+            // 선착순 모임은 조건부 UPDATE로 좌석을 먼저 확보한다. 정원이 찼으면 갱신되는 행이 없고 대기 상태로 신청된다.
+            boolean accepted = event.getEventType() == EventType.FCFS && eventRepository.claimSeat(event.getId()) == 1;
+            if (!accepted) {
+                eventRepository.addWaitingCount(event.getId(), 1);
+            }
+            Enrollment enrollment = Enrollment.of(LocalDateTime.now(), accepted, account);
             // 참가 내역이 없으므로 참가 정보를 생성한다.
             event.addEnrollment(enrollment); // 모임에 참가 정보를 등록
-            enrollmentRepository.save(enrollment); // 참가 정보를 저장
+            // 같은 계정의 요청이 동시에 들어오면 (event, account) 유니크 제약에 걸려 좌석 확보까지 함께 롤백된다.
+            enrollmentRepository.saveAndFlush(enrollment);
+        }
+    }
 
+    public List<SeatReservation> confirmReservations(Long eventId, List<SeatReservation> reservations) {
+        // 좌석 장부에서 예약된 신청을 한 트랜잭션에서 묶어서 저장하고, 저장하지 않은 예약을 돌려준다.
+        // 좌석은 claimSeats 한 번으로 확보하고 참가 신청은 saveAll로 묶어서 insert한다.
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return reservations; // 예약 후 모임이 삭제된 경우
+        }
+        Set<Long> enrolled = new HashSet<>(enrollmentRepository.findAccountIdsByEventIdAndAccountIdIn(eventId,
+                reservations.stream().map(SeatReservation::getAccountId).collect(Collectors.toList())));
+        List<SeatReservation> skipped = new ArrayList<>();
+        List<SeatReservation> confirmed = new ArrayList<>();
+        for (SeatReservation reservation : reservations) {
+            if (enrolled.add(reservation.getAccountId())) {
+                confirmed.add(reservation);
+            } else {
+                skipped.add(reservation); // 이미 신청한 계정
+            }
         }
+        int seats = (int) confirmed.stream().filter(SeatReservation::isSeat).count();
+        // 장부 밖에서 좌석이 먼저 확보됐다면 모두 대기 상태로 저장하고 아래 acceptWaitingList에서 남은 자리를 채운다.
+        boolean seated = seats > 0 && eventRepository.claimSeats(eventId, seats) == 1;
+        int waiting = seated ? confirmed.size() - seats : confirmed.size();
+        if (waiting > 0) {
+            eventRepository.addWaitingCount(eventId, waiting);
+        }
+        enrollmentRepository.saveAll(confirmed.stream()
+                .map(reservation -> {
+                    Enrollment enrollment = Enrollment.of(reservation.getReservedAt(), seated && reservation.isSeat(),
+                            accountRepository.getById(reservation.getAccountId()));
+                    enrollment.attach(event); // 참가 신청 목록을 불러오지 않도록 모임 쪽 컬렉션에는 추가하지 않는다.
+                    return enrollment;
+                })
+                .collect(Collectors.toList()));
+        if (waiting > 0) {
+            acceptWaitingList(event);
+        }
+        return skipped;
     }
 
     public void leave(Event event, Account account) {
         Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, account); // 참가 내역을 조회
         if (!enrollment.isAttended()) {
+            boolean accepted = enrollment.isAccepted();
             event.removeEnrollment(enrollment); // 모임에서 참가 내역을 삭제
             enrollmentRepository.delete(enrollment);  // 참가 정보를 삭제
-            event.acceptNextIfAvailable(); // 모임에서 다음 대기자를 참가 상태로 변경
+            if (accepted) {
+                eventRepository.releaseSeat(event.getId());
+                acceptWaitingList(event); // 모임에서 다음 대기자를 참가 상태로 변경
+            } else {
+                eventRepository.addWaitingCount(event.getId(), -1);
+            }
         }
     }
 
     public void acceptEnrollment(Event event, Enrollment enrollment) {
-        // 나머지 참가 신청/거절, 출석 체크/취소 기능은 entity에 위임
-        event.accept(enrollment);
-        eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
+        // 관리자 확인 모임도 좌석을 조건부 UPDATE로 확보해 동시에 수락해도 정원을 넘지 않는다.
+        if (event.isAcceptable(enrollment) && eventRepository.claimSeatForWaiting(event.getId()) == 1) {
+            event.accept(enrollment);
+        }
+        eventPublisher.publish(new EnrollmentAcceptedEvent(enrollment.getId()));
     }
 
     public void rejectEnrollment(Event event, Enrollment enrollment) {
-        // 나머지 참가 신청/거절, 출석 체크/취소 기능은 entity에 위임
-        event.reject(enrollment);
-        eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
+        if (event.isRejectable(enrollment)) {
+            eventRepository.releaseSeatToWaiting(event.getId());
+            event.reject(enrollment);
+        }
+        eventPublisher.publish(new EnrollmentRejectedEvent(enrollment.getId()));
     }
 
     public void checkInEnrollment(Event event, Enrollment enrollment) {
@@ -83,4 +158,36 @@ public class EventService {
         // 나머지 참가 신청/거절, 출석 체크/취소 기능은 entity에 위임
         enrollment.absent();
     }
+
+    private void refreshLoaded(Event event, List<Long> enrollmentIds) {
+        // UPDATE 쿼리는 영속성 컨텍스트를 거치지 않으므로 이미 불러온 참가 신청 중 확정된 것만 다시 읽는다.
+        if (!Hibernate.isInitialized(event.getEnrollments())) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(enrollmentIds);
+        event.getEnrollments().stream()
+                .filter(enrollment -> ids.contains(enrollment.getId()))
+                .forEach(entityManager::refresh);
+    }
+
+    private void acceptWaitingList(Event event) {
+        // 선착순 모임에서 남은 좌석만큼 먼저 신청한 대기자부터 확정한다.
+        // 모임 행을 잠근 채로 남은 좌석 수만큼 대기자 id를 읽고 UPDATE 한 번으로 확정한 뒤 인원 수를 옮긴다.
+        if (event.getEventType() != EventType.FCFS) {
+            return;
+        }
+        int remainingSeats = eventRepository.findRemainingSeatsForUpdate(event.getId());
+        if (remainingSeats <= 0) {
+            return;
+        }
+        List<Long> waitingIds = enrollmentRepository.findWaitingIds(event.getId(), PageRequest.of(0, remainingSeats));
+        if (waitingIds.isEmpty()) {
+            return;
+        }
+        int accepted = enrollmentRepository.acceptAll(waitingIds);
+        refreshLoaded(event, waitingIds);
+        eventRepository.moveWaitingToAccepted(event.getId(), accepted);
+        event.acceptWaiting(accepted);
+        eventPublisher.publish(new WaitingListAcceptedEvent(event.getId(), waitingIds));
+    }
 }
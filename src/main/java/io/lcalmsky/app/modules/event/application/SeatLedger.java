@@ -0,0 +1,173 @@
+package io.lcalmsky.app.modules.event.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.event.domain.SeatReservation;
+import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntSupplier;
+
+@Component
+public class SeatLedger {
+    // 신청이 몰리는 선착순 모임의 남은 좌석을 메모리에서 나눠주고 예약 토큰을 바로 발급한다. DB 쓰기는 SeatReservationConfirmer가 묶어서 한다.
+    // 모임별 남은 좌석은 처음 예약할 때 정원과 확정 인원으로 채우고, 저장을 기다리는 예약이 없이 일정 시간이 지나면 장부에서 지운다.
+    // 취소나 정원 변경으로 DB에 생긴 자리는 대기 예약을 저장할 때 EventService.acceptWaitingList가 채운다.
+    // 저장이 끝난 예약의 결과는 토큰으로 조회할 수 있도록 result-ttl 동안 보관한다.
+    // 서버 한 대 기준의 장부다. 여러 대로 운영한다면 남은 좌석 감소를 Redis의 DECR처럼 공유 저장소의 원자 연산으로 옮겨야 한다.
+
+    private final AppProperties appProperties;
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+    private final Map<String, SeatReservation> reservations = new ConcurrentHashMap<>(); // 모임과 계정별 저장 전 예약
+    private final Queue<SeatReservation> pending = new ConcurrentLinkedQueue<>();
+    private final Cache<String, SeatReservation.Status> results;
+
+    public SeatLedger(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.appProperties = appProperties;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(appProperties.getReservation().getResultMaxSize())
+                .expireAfterWrite(appProperties.getReservation().getResultTtl())
+                .build();
+        meterRegistry.gaugeMapSize("event.reservation.pending", Tags.empty(), reservations);
+        meterRegistry.gaugeMapSize("event.reservation.events", Tags.empty(), seats);
+    }
+
+    public boolean isEnabledFor(Event event) {
+        return appProperties.getReservation().isEnabled() && event.getEventType() == EventType.FCFS;
+    }
+
+    public SeatReservation reserve(Event event, Account account) {
+        return reserve(event.getId(), account.getId(), event::numberOfRemainSpots);
+    }
+
+    SeatReservation reserve(Long eventId, Long accountId, IntSupplier remainingSpots) {
+        // 같은 계정이 여러 번 눌러도 저장 전 예약이 있으면 그 예약을 돌려준다.
+        return reservations.computeIfAbsent(key(eventId, accountId), key -> {
+            boolean[] seat = new boolean[1];
+            seats.compute(eventId, (id, eventSeats) -> {
+                Seats reserved = eventSeats == null ? new Seats(remainingSpots.getAsInt()) : eventSeats;
+                seat[0] = reserved.take();
+                return reserved;
+            });
+            SeatReservation reservation = new SeatReservation(UUID.randomUUID().toString(), eventId, accountId, seat[0], LocalDateTime.now());
+            pending.add(reservation);
+            return reservation;
+        });
+    }
+
+    public SeatReservation.Status findStatus(Long eventId, Long accountId, String token) {
+        // 다른 계정의 토큰으로는 결과를 볼 수 없도록 모임과 계정을 함께 확인한다.
+        SeatReservation reservation = reservations.get(key(eventId, accountId));
+        if (reservation != null && reservation.getToken().equals(token)) {
+            return SeatReservation.Status.PENDING;
+        }
+        return results.getIfPresent(key(eventId, accountId) + ":" + token);
+    }
+
+    List<SeatReservation> drain(int maxSize) {
+        List<SeatReservation> drained = new ArrayList<>();
+        SeatReservation reservation;
+        while (drained.size() < maxSize && (reservation = pending.poll()) != null) {
+            drained.add(reservation);
+        }
+        return drained;
+    }
+
+    void retry(Collection<SeatReservation> reservations) {
+        pending.addAll(reservations);
+    }
+
+    void confirmed(Collection<SeatReservation> confirmed) {
+        confirmed.forEach(reservation -> finish(reservation, SeatReservation.Status.CONFIRMED, false));
+    }
+
+    void skipped(Collection<SeatReservation> skipped) {
+        // 이미 신청한 계정이나 삭제된 모임의 예약은 좌석을 장부에 돌려준다.
+        skipped.forEach(reservation -> finish(reservation, SeatReservation.Status.SKIPPED, true));
+    }
+
+    void failed(Collection<SeatReservation> failed) {
+        failed.forEach(reservation -> finish(reservation, SeatReservation.Status.FAILED, true));
+    }
+
+    void prune(Duration idle) {
+        // 저장을 기다리는 예약이 없고 마지막 저장 후 idle만큼 지난 모임은 장부에서 지운다. 다음 예약 때 DB 값으로 다시 채운다.
+        // 조회해 둔 모임으로 다시 채우므로 저장 직후 바로 지우면 저장 전에 읽은 값으로 좌석을 다시 나눠줄 수 있어 시간을 두고 지운다.
+        long now = System.nanoTime();
+        for (Long eventId : seats.keySet()) {
+            seats.computeIfPresent(eventId, (id, eventSeats) -> eventSeats.isIdle(now, idle) ? null : eventSeats);
+        }
+    }
+
+    int pendingCount() {
+        return reservations.size();
+    }
+
+    Integer remainingSeats(Long eventId) {
+        Seats eventSeats = seats.get(eventId);
+        return eventSeats == null ? null : eventSeats.remaining;
+    }
+
+    private void finish(SeatReservation reservation, SeatReservation.Status status, boolean releaseSeat) {
+        String key = key(reservation.getEventId(), reservation.getAccountId());
+        if (!reservations.remove(key, reservation)) {
+            return;
+        }
+        seats.computeIfPresent(reservation.getEventId(), (id, eventSeats) -> {
+            eventSeats.settle(releaseSeat && reservation.isSeat());
+            return eventSeats;
+        });
+        results.put(key + ":" + reservation.getToken(), status);
+    }
+
+    private static String key(Long eventId, Long accountId) {
+        return eventId + ":" + accountId;
+    }
+
+    private static class Seats {
+        // seats 맵의 compute 안에서만 읽고 바꾼다.
+        private int remaining;
+        private int outstanding; // 저장을 기다리는 예약 수
+        private long settledAt = System.nanoTime();
+
+        Seats(int remaining) {
+            this.remaining = remaining;
+        }
+
+        boolean take() {
+            outstanding++;
+            if (remaining > 0) {
+                remaining--;
+                return true;
+            }
+            return false;
+        }
+
+        void settle(boolean releaseSeat) {
+            outstanding--;
+            if (releaseSeat) {
+                remaining++;
+            }
+            settledAt = System.nanoTime();
+        }
+
+        boolean isIdle(long now, Duration idle) {
+            return outstanding == 0 && now - settledAt >= idle.toNanos();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.event.domain.SeatReservation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.reservation", name = "enabled", havingValue = "true")
+public class SeatReservationConfirmer {
+    // 좌석 장부(SeatLedger)에 쌓인 예약을 일정 주기로 모아 모임별로 한 트랜잭션씩 참가 신청으로 저장한다.
+    // 요청마다 트랜잭션을 열지 않으므로 신청이 몰려도 DB 쓰기는 주기마다 모임별 UPDATE 몇 번과 묶음 insert로 줄어든다.
+    // 사용자에게는 예약이 접수됐다고 안내했으므로 저장에 실패한 예약은 시간이 지났다고 버리지 않고 간격을 늘려가며 다시 시도한다.
+    // 같은 예약이 max-attempts번 실패하면 저장할 수 없는 예약으로 보고 실패로 기록해, 사용자가 토큰으로 결과를 확인할 수 있게 한다.
+    // app.reservation.enabled가 false면 예약을 받지 않으므로 빈을 만들지 않아 스케줄러 스레드도 띄우지 않는다.
+
+    private static final Duration PRUNE_IDLE = Duration.ofMinutes(1);
+
+    private final SeatLedger seatLedger;
+    private final EventService eventService;
+    private final AppProperties appProperties;
+    private final Counter confirmedCounter;
+    private final Counter failedCounter;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private Duration backoff = Duration.ZERO;
+    private volatile long retryAt = System.nanoTime();
+
+    public SeatReservationConfirmer(SeatLedger seatLedger, EventService eventService, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.seatLedger = seatLedger;
+        this.eventService = eventService;
+        this.appProperties = appProperties;
+        this.confirmedCounter = meterRegistry.counter("event.reservation.confirmed");
+        this.failedCounter = meterRegistry.counter("event.reservation.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        // 공용 @Scheduled 스레드 대신 전용 스레드에서 실행해 다른 주기 작업과 서로 밀리지 않도록 한다.
+        scheduler.setThreadNamePrefix("seatReservationConfirmer-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::confirm, Duration.ofMillis(appProperties.getReservation().getConfirmIntervalMillis()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 종료 전에 남은 예약을 한 번 더 저장한다. 그래도 남은 예약은 메모리와 함께 사라지므로 수를 남긴다.
+        scheduler.shutdown();
+        retryAt = System.nanoTime();
+        confirm();
+        if (seatLedger.pendingCount() > 0) {
+            log.error("shutting down with {} unconfirmed seat reservations", seatLedger.pendingCount());
+        }
+    }
+
+    public void confirm() {
+        if (System.nanoTime() - retryAt < 0) {
+            return; // 저장에 실패한 뒤에는 backoff가 지날 때까지 기다린다.
+        }
+        int batchSize = appProperties.getReservation().getBatchSize();
+        List<SeatReservation> drained;
+        do {
+            drained = seatLedger.drain(batchSize);
+            if (!confirm(drained)) {
+                return; // 실패한 예약은 다시 넣었으므로 다음 주기에 처리한다.
+            }
+        } while (drained.size() == batchSize);
+        seatLedger.prune(PRUNE_IDLE);
+    }
+
+    private boolean confirm(List<SeatReservation> reservations) {
+        Map<Long, List<SeatReservation>> byEvent = new LinkedHashMap<>();
+        for (SeatReservation reservation : reservations) {
+            byEvent.computeIfAbsent(reservation.getEventId(), id -> new ArrayList<>()).add(reservation);
+        }
+        List<SeatReservation> deferred = new ArrayList<>();
+        List<SeatReservation> retried = new ArrayList<>();
+        for (Map.Entry<Long, List<SeatReservation>> entry : byEvent.entrySet()) {
+            List<SeatReservation> eventReservations = entry.getValue();
+            if (!retried.isEmpty()) {
+                deferred.addAll(eventReservations);
+                continue;
+            }
+            try {
+                List<SeatReservation> skipped = eventService.confirmReservations(entry.getKey(), eventReservations);
+                seatLedger.skipped(skipped);
+                eventReservations.removeAll(skipped);
+                seatLedger.confirmed(eventReservations);
+                confirmedCounter.increment(eventReservations.size());
+            } catch (RuntimeException e) {
+                log.warn("failed to confirm {} seat reservations for event {}", eventReservations.size(), entry.getKey(), e);
+                retried.addAll(retryOrFail(eventReservations));
+            }
+        }
+        // 실패한 모임의 예약을 뒤로 보내 다른 모임의 예약이 먼저 저장되도록 한다.
+        seatLedger.retry(deferred);
+        seatLedger.retry(retried);
+        boolean succeeded = retried.isEmpty();
+        backOff(succeeded);
+        return succeeded;
+    }
+
+    private List<SeatReservation> retryOrFail(List<SeatReservation> reservations) {
+        int maxAttempts = appProperties.getReservation().getMaxAttempts();
+        List<SeatReservation> retried = new ArrayList<>();
+        List<SeatReservation> failed = new ArrayList<>();
+        for (SeatReservation reservation : reservations) {
+            if (reservation.failed() < maxAttempts) {
+                retried.add(reservation);
+            } else {
+                failed.add(reservation);
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.error("giving up {} seat reservations after {} attempts: {}", failed.size(), maxAttempts, failed);
+            seatLedger.failed(failed);
+            failedCounter.increment(failed.size());
+        }
+        return retried;
+    }
+
+    private void backOff(boolean succeeded) {
+        if (succeeded) {
+            backoff = Duration.ZERO;
+            return;
+        }
+        Duration interval = Duration.ofMillis(appProperties.getReservation().getConfirmIntervalMillis());
+        Duration doubled = backoff.isZero() ? interval : backoff.multipliedBy(2);
+        Duration maxBackoff = appProperties.getReservation().getMaxBackoff();
+        backoff = doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+        retryAt = System.nanoTime() + backoff.toNanos();
+    }
+}
@@ -0,0 +1,24 @@
+package io.lcalmsky.app.modules.event.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class EventSummary {
+    // 스터디의 모임 목록(study/events.html)에 필요한 값만 담는다.
+    // 참가 신청 목록을 불러오지 않고 모임에 저장된 확정 인원 수(acceptedCount)를 함께 조회한다.
+    private final Long id;
+    private final String title;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final LocalDateTime endEnrollmentDateTime;
+    private final Integer limitOfEnrollments;
+    private final Integer numberOfAcceptedEnrollments;
+
+    public int numberOfRemainSpots() {
+        return this.limitOfEnrollments - this.numberOfAcceptedEnrollments;
+    }
+}
@@ -0,0 +1,32 @@
+package io.lcalmsky.app.modules.event.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class SeatReservation {
+    // 좌석 장부(SeatLedger)가 발급한 예약. SeatReservationConfirmer가 참가 신청으로 저장하고, 사용자는 토큰으로 처리 결과를 확인한다.
+    // seat가 false면 정원이 이미 찬 뒤에 접수된 신청이라 대기 상태로 저장된다.
+    private final String token;
+    private final Long eventId;
+    private final Long accountId;
+    private final boolean seat;
+    private final LocalDateTime reservedAt;
+    private int attempts; // 저장에 실패한 횟수, SeatReservationConfirmer 스레드에서만 바꾼다.
+
+    public int failed() {
+        return ++this.attempts;
+    }
+
+    public enum Status {
+        PENDING, // 저장 대기 중
+        CONFIRMED, // 참가 신청으로 저장됨
+        SKIPPED, // 이미 신청한 계정이거나 모임이 삭제되어 저장하지 않음
+        FAILED // 여러 번 다시 시도했지만 저장하지 못함
+    }
+}
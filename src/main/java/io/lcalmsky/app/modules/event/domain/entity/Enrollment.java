@@ -13,6 +13,10 @@ import static lombok.AccessLevel.PROTECTED;
 @NoArgsConstructor(access = PROTECTED)
 @Getter
 @ToString
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "idx_enrollment_waiting_list", columnList = "event_id, accepted, enrolled_at, id"))
+// 같은 계정의 참가 신청이 동시에 들어와도 한 건만 저장된다.
+// 대기 목록은 모임별 대기중인 신청을 신청 시각 순서로 읽는 인덱스로 유지한다. 순번 컬럼을 따로 두면 취소할 때마다 뒤 순번을 모두 고쳐야 한다.
 @NamedEntityGraph(
         name = "Enrollment.withEventAndStudy",
         attributeNodes = {
@@ -11,17 +11,13 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static lombok.AccessLevel.PROTECTED;
 
 
-@NamedEntityGraph(
-        name = "Event.withEnrollments",
-        attributeNodes = @NamedAttributeNode("enrollments")
-)
 @Entity
+@Table(indexes = @Index(name = "idx_event_study_end_date_time", columnList = "study_id, end_date_time"))
+// 스터디별 진행 예정, 지난 모임 목록을 종료 시각으로 나눠 조회한다.
 @NoArgsConstructor(access = PROTECTED)
 @Getter
 @ToString
@@ -57,6 +53,16 @@ public class Event {
 
     private Integer limitOfEnrollments;
 
+    // 확정, 대기중인 참가 신청 수. 목록을 불러와 세지 않고 이 값으로 남은 자리와 신청 수를 보여준다.
+    // DB 값은 EventRepository의 조건부 UPDATE(claimSeat 등)로만 바꾸므로 엔티티 변경이 덮어쓰지 않도록 updatable = false로 두고,
+    // 엔티티의 accept, reject, addEnrollment, removeEnrollment는 같은 요청 안에서 읽을 값만 맞춘다.
+    // null이면 아직 계산하지 않은 기존 모임이다(EventCounterInitializer).
+    @Column(updatable = false)
+    private Integer acceptedCount;
+
+    @Column(updatable = false)
+    private Integer waitingCount;
+
 
     @Enumerated(EnumType.STRING)
     private EventType eventType;
@@ -72,6 +78,8 @@ public class Event {
         event.createdBy = account;
         event.study = study;
         event.createdDateTime = LocalDateTime.now();
+        event.acceptedCount = 0;
+        event.waitingCount = 0;
         return event;
     }
 
@@ -94,25 +102,11 @@ public class Event {
         return isNotClosed() && isAlreadyEnrolled(userAccount);
     }
 
-    public void accept(Enrollment enrollment) {
-        // 관리자 확인 모임이고 참석 가능할 경우 참가의 상태를 변경
-        if (this.eventType == EventType.CONFIRMATIVE && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()) {
-            enrollment.accept();
-        }
-    }
-
-    public void reject(Enrollment enrollment) {
-        // 관리자 확인 모임인 경우 참가의 상태를 변경
-        if (this.eventType == EventType.CONFIRMATIVE) {
-            enrollment.reject();
-        }
-    }
-
     public boolean isAcceptable(Enrollment enrollment) {
         // 수락 가능 상태인지 확인
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()
+                && isEnrollmentOf(enrollment)
+                && this.limitOfEnrollments > this.acceptedCount
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
@@ -120,11 +114,16 @@ public class Event {
     public boolean isRejectable(Enrollment enrollment) {
         // 거절 가능 상태인지 확인
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && isEnrollmentOf(enrollment)
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
 
+    private boolean isEnrollmentOf(Enrollment enrollment) {
+        // 참가 신청 목록을 불러오지 않고 참가 신청이 가리키는 모임으로 확인한다.
+        return enrollment.getEvent() != null && this.id.equals(enrollment.getEvent().getId());
+    }
+
 
     private boolean isAlreadyEnrolled(UserAccount userAccount) {
         Account account = userAccount.getAccount();
@@ -147,17 +146,15 @@ public class Event {
     }
 
     public int numberOfRemainSpots() {
-        int accepted = (int) this.enrollments.stream()
-                .filter(Enrollment::isAccepted)
-                .count();
-        return this.limitOfEnrollments - accepted;
+        return this.limitOfEnrollments - this.acceptedCount;
+    }
 
+    public int getNumberOfAcceptedEnrollments() {
+        return this.acceptedCount;
     }
 
-    public Long getNumberOfAcceptedEnrollments() {
-        return this.enrollments.stream()
-                .filter(Enrollment::isAccepted)
-                .count();
+    public int getNumberOfEnrollments() {
+        return this.acceptedCount + this.waitingCount;
     }
 
     public void updateFrom(EventForm eventForm) {
@@ -170,43 +167,41 @@ public class Event {
         this.endEnrollmentDateTime = eventForm.getEndEnrollmentDateTime();
     }
 
-    public boolean isAbleToAcceptWaitingEnrollment() { // 모임 유형이 선착순이고 모임 정원이 참가 요청 수보다 큰지 확인
-        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments();
-    }
-
     public void addEnrollment(Enrollment enrollment) {
         // 모임에 참가 내역을 추가하고 역으로 참가 내역에도 모임에 대한 레퍼런스를 추가해줘야 한다,
         this.enrollments.add(enrollment);
         enrollment.attach(this);
+        if (enrollment.isAccepted()) {
+            this.acceptedCount++;
+        } else {
+            this.waitingCount++;
+        }
     }
 
     public void removeEnrollment(Enrollment enrollment) { // 모임에서 참가 내역을 제거 후  역으로 참가 내역에서도 모임
         this.enrollments.remove(enrollment);
         enrollment.detachEvent();
+        if (enrollment.isAccepted()) {
+            this.acceptedCount--;
+        } else {
+            this.waitingCount--;
+        }
     }
 
-    public void acceptNextIfAvailable() {
-        // 대기중인 있는 참가 신청들이 수용가능한지 확인하여 첫 번째 신청을 가져와 참가 신청 상태로 변경
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            this.firstWaitingEnrollment().ifPresent(Enrollment::accept);
-        }
+    public void accept(Enrollment enrollment) { // 대기중인 참가 신청을 확정
+        enrollment.accept();
+        this.acceptedCount++;
+        this.waitingCount--;
     }
 
-    private Optional<Enrollment> firstWaitingEnrollment() { // 참가 신청 중 신청 완료되지 않은 첫 번째 내역을 가져온다.
-        return this.enrollments.stream()
-                .filter(e -> !e.isAccepted())
-                .findFirst();
+    public void acceptWaiting(int count) { // 대기자 count명을 한꺼번에 확정한 뒤 인원 수만 맞춤
+        this.acceptedCount += count;
+        this.waitingCount -= count;
     }
 
-    public void acceptWaitingList() {
-        // 대기중인 참가 신청 수용 가능 여부를 판단하여 참가 가능한 수만큼 대기 리스트의 상태를 참가 신청 완료 상태로 변경
-        if (this.isAbleToAcceptWaitingEnrollment()) {
-            List<Enrollment> waitingList = this.enrollments.stream()
-                    .filter(e -> !e.isAccepted())
-                    .collect(Collectors.toList());
-            int numberToAccept = (int) Math.min(limitOfEnrollments - getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(Enrollment::accept);
-        }
+    public void reject(Enrollment enrollment) { // 확정된 참가 신청을 대기 상태로 되돌림
+        enrollment.reject();
+        this.acceptedCount--;
+        this.waitingCount++;
     }
 }
-
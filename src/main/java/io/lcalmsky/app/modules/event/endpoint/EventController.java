@@ -2,7 +2,11 @@ package io.lcalmsky.app.modules.event.endpoint;
 
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.support.CurrentUser;
+import io.lcalmsky.app.modules.event.application.EnrollmentEngine;
 import io.lcalmsky.app.modules.event.application.EventService;
+import io.lcalmsky.app.modules.event.application.SeatLedger;
+import io.lcalmsky.app.modules.event.domain.EventSummary;
+import io.lcalmsky.app.modules.event.domain.SeatReservation;
 import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
 import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
@@ -13,24 +17,36 @@ import io.lcalmsky.app.modules.study.application.StudyService;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
 import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/study/{path}")
 @RequiredArgsConstructor
 public class EventController {
 
+    private static final int NEW_EVENT_PAGE_SIZE = 10;
+    private static final int OLD_EVENT_PAGE_SIZE = 20;
+    private static final Map<SeatReservation.Status, String> RESERVATION_MESSAGES = Map.of(
+            SeatReservation.Status.PENDING, "참가 신청을 저장하고 있습니다. 잠시 후 새로고침하면 결과를 확인할 수 있습니다.",
+            SeatReservation.Status.CONFIRMED, "참가 신청이 저장되었습니다.",
+            SeatReservation.Status.SKIPPED, "이미 참가 신청한 모임이거나 모임이 삭제되어 신청하지 않았습니다.",
+            SeatReservation.Status.FAILED, "참가 신청을 저장하지 못했습니다. 다시 신청해 주세요.");
+
     private final StudyService studyService;
     private final EventService eventService;
+    private final EnrollmentEngine enrollmentEngine;
+    private final SeatLedger seatLedger;
     private final EventRepository eventRepository;
     private final StudyRepository studyRepository;
     private final EnrollmentRepository enrollmentRepository;
@@ -63,30 +79,37 @@ public class EventController {
     }
 
     @GetMapping("/events/{id}")
-    public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event, Model model) {
+    public String getEvent(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event,
+                           @RequestParam(required = false) String reservation, Model model) {
         model.addAttribute(account);
+        if (reservation != null && account != null) {
+            // 예약 모드에서 신청한 경우 리다이렉트 주소의 토큰으로 저장 결과를 보여준다.
+            SeatReservation.Status status = seatLedger.findStatus(event.getId(), account.getId(), reservation);
+            if (status != null) {
+                model.addAttribute("reservation", reservation);
+                model.addAttribute("reservationStatus", RESERVATION_MESSAGES.get(status));
+            }
+        }
         model.addAttribute(event);
         model.addAttribute(studyRepository.findStudyWithManagersByPath(path));
         return "event/view";
     }
 
     @GetMapping("/events")
-    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Model model) {
+    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path,
+                                  @RequestParam(defaultValue = "0") int newPage, @RequestParam(defaultValue = "0") int oldPage, Model model) {
         Study study = studyService.getStudy(path);
         model.addAttribute(account);
         model.addAttribute(study);
-        List<Event> events = eventRepository.findByStudyOrderByStartDateTime(study);
-        List<Event> newEvents = new ArrayList<>();
-        List<Event> oldEvents = new ArrayList<>();
-        for (Event event : events) {
-            if (event.getEndDateTime().isBefore(LocalDateTime.now())) {
-                oldEvents.add(event);
-            } else {
-                newEvents.add(event);
-            }
-        }
-        model.addAttribute("newEvents", newEvents);
-        model.addAttribute("oldEvents", oldEvents);
+        // 목록에는 모임과 참가 신청 엔티티 대신 화면에 필요한 값과 확정 인원 수만 조회한다.
+        // 진행 예정과 지난 모임을 DB에서 종료 시각으로 나누고 각각 한 페이지씩만 읽는다.
+        LocalDateTime now = LocalDateTime.now();
+        Page<EventSummary> newEventPage = eventRepository.findUpcomingSummaries(study, now, PageRequest.of(Math.max(newPage, 0), NEW_EVENT_PAGE_SIZE));
+        Page<EventSummary> oldEventPage = eventRepository.findPastSummaries(study, now, PageRequest.of(Math.max(oldPage, 0), OLD_EVENT_PAGE_SIZE));
+        model.addAttribute("newEventPage", newEventPage);
+        model.addAttribute("oldEventPage", oldEventPage);
+        model.addAttribute("newEvents", newEventPage.getContent());
+        model.addAttribute("oldEvents", oldEventPage.getContent());
         return "study/events";
     }
 
@@ -122,9 +145,18 @@ public class EventController {
     }
 
     @PostMapping("/events/{id}/enroll")
-    public String enroll(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event) {
+    public String enroll(@CurrentUser Account account, @PathVariable String path, @PathVariable("id") Event event,
+                         RedirectAttributes attributes) {
         Study study = studyService.getStudyToEnroll(path);
-        eventService.enroll(event, account);
+        if (seatLedger.isEnabledFor(event)) {
+            // 예약 모드에서는 좌석 장부에서 예약만 하고 바로 응답한다. 참가 신청은 SeatReservationConfirmer가 묶어서 저장한다.
+            SeatReservation reservation = seatLedger.reserve(event, account);
+            attributes.addFlashAttribute("message", reservation.isSeat()
+                    ? "참가 자리를 예약했습니다. 저장이 끝나면 참가 신청 목록에 표시됩니다."
+                    : "정원이 차서 대기자로 접수했습니다. 저장이 끝나면 참가 신청 목록에 표시됩니다.");
+            return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId() + "?reservation=" + reservation.getToken();
+        }
+        enrollmentEngine.enroll(event.getId(), account); // 동시에 몰리는 신청을 재시도와 함께 처리
         return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
     }
 
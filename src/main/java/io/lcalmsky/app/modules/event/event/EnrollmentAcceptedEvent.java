@@ -1,9 +1,13 @@
 package io.lcalmsky.app.modules.event.event;
 
-import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+@JsonIgnoreProperties(value = "message", allowGetters = true)
 public class EnrollmentAcceptedEvent extends EnrollmentEvent {
-    public EnrollmentAcceptedEvent(Enrollment enrollment) {
-        super(enrollment, "모임 참가 신청을 확인했습니다. 모임에 참석하세요.");
+    @JsonCreator
+    public EnrollmentAcceptedEvent(@JsonProperty("enrollmentId") Long enrollmentId) {
+        super(enrollmentId, "모임 참가 신청을 확인했습니다. 모임에 참석하세요.");
     }
 }
@@ -1,13 +1,14 @@
 package io.lcalmsky.app.modules.event.event;
 
-import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.infra.outbox.DomainEventExecutor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 @Getter
 @RequiredArgsConstructor
+@DomainEventExecutor("enrollmentExecutor")
 public class EnrollmentEvent {
-    protected final Enrollment enrollment;
+    protected final Long enrollmentId;
     protected final String message;
 
 }
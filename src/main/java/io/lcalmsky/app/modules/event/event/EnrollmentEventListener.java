@@ -1,11 +1,13 @@
 package io.lcalmsky.app.modules.event.event;
 
-import io.lcalmsky.app.infra.config.AppProperties;
 import io.lcalmsky.app.infra.email.EmailMessage;
 import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
 import io.lcalmsky.app.modules.notification.domain.entity.Notification;
 import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
 import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
@@ -13,30 +15,45 @@ import io.lcalmsky.app.modules.study.domain.entity.Study;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
 
 
 @Slf4j
-@Async
+// DomainEventRelay가 이벤트에 지정된 enrollmentExecutor에서 실행하고, 끝난 뒤에 outbox에 발행 완료를 기록한다.
 @Component
 @Transactional
 @RequiredArgsConstructor
 public class EnrollmentEventListener {
 
+    private final EnrollmentRepository enrollmentRepository;
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
     private final EmailService emailService;
-    private final AppProperties appProperties;
-    private final TemplateEngine templateEngine;
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer;
 
     @EventListener
     public void handleEnrollmentEvent(EnrollmentEvent enrollmentEvent) {
-        Enrollment enrollment = enrollmentEvent.getEnrollment();
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentEvent.getEnrollmentId()).orElse(null);
+        if (enrollment == null) {
+            return; // 이벤트가 발행되기 전에 참가 신청이 취소된 경우
+        }
+        notifyResult(enrollmentEvent, enrollment);
+    }
+
+    @EventListener
+    public void handleWaitingListAcceptedEvent(WaitingListAcceptedEvent waitingListAcceptedEvent) {
+        // 한꺼번에 확정된 참가 신청을 한 번에 조회해 각각 확정 알림을 보낸다. 그 사이 취소된 신청은 조회되지 않는다.
+        for (Enrollment enrollment : enrollmentRepository.findByIdIn(waitingListAcceptedEvent.getEnrollmentIds())) {
+            if (enrollment.isAccepted()) {
+                notifyResult(new EnrollmentAcceptedEvent(enrollment.getId()), enrollment);
+            }
+        }
+    }
+
+    private void notifyResult(EnrollmentEvent enrollmentEvent, Enrollment enrollment) {
         Account account = enrollment.getAccount();
         Event event = enrollment.getEvent();
         Study study = event.getStudy();
@@ -49,13 +66,8 @@ public class EnrollmentEventListener {
     }
 
     private void sendEmail(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study) {
-        Context context = new Context();
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("link", "/study" + study.getEncodedPath() + "/events" + event.getId());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", enrollmentEvent.getMessage());
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = simpleLinkMailRenderer.render(account.getNickname(),
+                "/study" + study.getEncodedPath() + "/events" + event.getId(), study.getTitle(), enrollmentEvent.getMessage());
         EmailMessage emailMessage = EmailMessage.builder()
                 .subject("[FRITZ]" + event.getTitle() + " 모임 참가 신청 결과입니다.")
                 .to(account.getEmail())
@@ -67,5 +79,6 @@ public class EnrollmentEventListener {
         notificationRepository.save(Notification.from(study.getTitle() + " / " + event.getTitle(),
                 "/study" + study.getEncodedPath() + "/events/" + event.getId(), false,
                 LocalDateTime.now(), enrollmentEvent.getMessage(), account, NotificationType.EVENT_ENROLLMENT));
+        unreadNotificationCounter.invalidate(account.getId());
     }
 }
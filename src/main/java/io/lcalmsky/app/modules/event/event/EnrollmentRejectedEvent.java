@@ -1,10 +1,14 @@
 package io.lcalmsky.app.modules.event.event;
 
 
-import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+@JsonIgnoreProperties(value = "message", allowGetters = true)
 public class EnrollmentRejectedEvent extends EnrollmentEvent {
-    public EnrollmentRejectedEvent(Enrollment enrollment) {
-        super(enrollment, "모임 참가 신청이 거절되었습니다.");
+    @JsonCreator
+    public EnrollmentRejectedEvent(@JsonProperty("enrollmentId") Long enrollmentId) {
+        super(enrollmentId, "모임 참가 신청이 거절되었습니다.");
     }
 }
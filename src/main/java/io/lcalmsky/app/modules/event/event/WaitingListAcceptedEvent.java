@@ -0,0 +1,22 @@
+package io.lcalmsky.app.modules.event.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.lcalmsky.app.infra.outbox.DomainEventExecutor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@DomainEventExecutor("enrollmentExecutor")
+public class WaitingListAcceptedEvent {
+    // 대기자를 한꺼번에 확정했을 때 참가 신청마다 이벤트를 남기지 않고 한 번에 발행한다.
+    private final Long eventId;
+    private final List<Long> enrollmentIds;
+
+    @JsonCreator
+    public WaitingListAcceptedEvent(@JsonProperty("eventId") Long eventId, @JsonProperty("enrollmentIds") List<Long> enrollmentIds) {
+        this.eventId = eventId;
+        this.enrollmentIds = enrollmentIds;
+    }
+}
@@ -4,10 +4,14 @@ package io.lcalmsky.app.modules.event.infra.repository;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional(readOnly = true)
@@ -16,6 +20,39 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Enrollment findByEventAndAccount(Event event, Account account);
 
+    boolean existsByEventIdAndAccountId(Long eventId, Long accountId);
+
+    @Query("select e.account.id from Enrollment e where e.event.id = :eventId and e.account.id in :accountIds")
+    List<Long> findAccountIdsByEventIdAndAccountIdIn(Long eventId, Collection<Long> accountIds);
+
+    // 대기 목록 앞에서부터 count건의 id를 idx_enrollment_waiting_list 인덱스 순서로 읽는다.
+    @Query("select e.id from Enrollment e where e.event.id = :eventId and e.accepted = false order by e.enrolledAt, e.id")
+    List<Long> findWaitingIds(Long eventId, Pageable pageable);
+
+    // 대기자를 한 번의 UPDATE로 확정한다. 그 사이 취소되거나 이미 확정된 신청은 건너뛰므로 반환값이 실제로 확정된 수다.
+    // 실행 전에 변경 내용을 반영하고, 이미 불러온 참가 신청은 호출한 쪽에서 다시 읽는다(EventService.acceptWaitingList).
+    // 영속성 컨텍스트를 통째로 비우면 요청에서 사용 중인 모임과 참가 신청이 준영속 상태가 되므로 비우지 않는다.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Enrollment e set e.accepted = true where e.id in :ids and e.accepted = false")
+    int acceptAll(List<Long> ids);
+
+    // 유니크 제약 조건을 추가하기 전에 저장된 중복 참가 신청을 찾는다(EnrollmentDuplicateMigration).
+    @Query(value = "select distinct event_id from enrollment group by event_id, account_id having count(*) > 1", nativeQuery = true)
+    List<Long> findEventIdsWithDuplicates();
+
+    // 같은 계정의 참가 신청 중 확정된 신청을 우선으로, 그 다음은 먼저 저장된 신청 하나만 남긴다.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from enrollment where exists (select 1 from enrollment other " +
+            "where other.event_id = enrollment.event_id and other.account_id = enrollment.account_id " +
+            "and (other.accepted > enrollment.accepted or (other.accepted = enrollment.accepted and other.id < enrollment.id)))",
+            nativeQuery = true)
+    int deleteDuplicates();
+
+    @EntityGraph("Enrollment.withEventAndStudy")
+    List<Enrollment> findByIdIn(List<Long> ids);
+
     @EntityGraph("Enrollment.withEventAndStudy")
     List<Enrollment> findByAccountAndAcceptedOrderByEnrolledAtDesc(Account account, boolean accepted);
 }
@@ -1,16 +1,96 @@
 package io.lcalmsky.app.modules.event.infra.repository;
 
+import io.lcalmsky.app.modules.event.domain.EventSummary;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event, Long> {
 
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.FETCH)
-    List<Event> findByStudyOrderByStartDateTime(Study study);
+    // 스터디의 모임 목록을 진행 예정과 지난 모임으로 나눠 페이지 단위로 조회한다. 종료 시각 조건은 idx_event_study_end_date_time 인덱스를 탄다.
+    @Query(value = "select new io.lcalmsky.app.modules.event.domain.EventSummary(e.id, e.title, e.startDateTime, e.endDateTime, " +
+            "e.endEnrollmentDateTime, e.limitOfEnrollments, e.acceptedCount) " +
+            "from Event e where e.study = :study and e.endDateTime >= :now order by e.startDateTime, e.id",
+            countQuery = "select count(e) from Event e where e.study = :study and e.endDateTime >= :now")
+    Page<EventSummary> findUpcomingSummaries(Study study, LocalDateTime now, Pageable pageable);
+
+    @Query(value = "select new io.lcalmsky.app.modules.event.domain.EventSummary(e.id, e.title, e.startDateTime, e.endDateTime, " +
+            "e.endEnrollmentDateTime, e.limitOfEnrollments, e.acceptedCount) " +
+            "from Event e where e.study = :study and e.endDateTime < :now order by e.endDateTime desc, e.id desc",
+            countQuery = "select count(e) from Event e where e.study = :study and e.endDateTime < :now")
+    Page<EventSummary> findPastSummaries(Study study, LocalDateTime now, Pageable pageable);
+
+    // 참가 신청 수 컬럼은 엔티티 매핑에서 updatable = false이므로 아래 SQL로만 바뀐다. 모두 현재 값에 더하고 빼는 방식이라 동시에 실행돼도 값을 잃지 않는다.
+    // 정원이 남아 있을 때만 확정 인원을 하나 늘린다. 갱신된 행이 1이면 좌석을 확보한 것이고, 커밋할 때까지 행 잠금을 유지한다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count + 1 " +
+            "where id = :id and accepted_count < limit_of_enrollments", nativeQuery = true)
+    int claimSeat(Long id);
+
+    // 좌석 예약을 묶어서 저장할 때 count석을 한꺼번에 확보한다. 모두 확보할 수 없으면 갱신하지 않는다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count + :count " +
+            "where id = :id and accepted_count + :count <= limit_of_enrollments", nativeQuery = true)
+    int claimSeats(Long id, int count);
+
+    // 대기중인 참가 신청을 확정할 때 사용한다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count + 1, waiting_count = waiting_count - 1 " +
+            "where id = :id and accepted_count < limit_of_enrollments", nativeQuery = true)
+    int claimSeatForWaiting(Long id);
+
+    // 대기자를 한꺼번에 확정하기 전에 모임 행을 잠그고 남은 좌석 수를 읽는다. 커밋할 때까지 다른 요청의 좌석 확보는 기다린다.
+    // 인원 수를 아직 계산하지 않은 기존 모임(accepted_count가 null)은 확정 인원을 0으로 본다.
+    @Query(value = "select coalesce(limit_of_enrollments, 0) - coalesce(accepted_count, 0) from event where id = :id for update", nativeQuery = true)
+    int findRemainingSeatsForUpdate(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count + :count, waiting_count = waiting_count - :count " +
+            "where id = :id", nativeQuery = true)
+    int moveWaitingToAccepted(Long id, int count);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count - 1 where id = :id and accepted_count > 0", nativeQuery = true)
+    int releaseSeat(Long id);
+
+    // 확정된 참가 신청을 대기 상태로 되돌릴 때 사용한다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = accepted_count - 1, waiting_count = waiting_count + 1 " +
+            "where id = :id and accepted_count > 0", nativeQuery = true)
+    int releaseSeatToWaiting(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update event set waiting_count = waiting_count + :delta where id = :id", nativeQuery = true)
+    int addWaitingCount(Long id, int delta);
+
+    // 참가 신청을 SQL로 지운 모임의 인원 수를 비워서 initializeCounts로 다시 계산하게 한다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set accepted_count = null, waiting_count = null where id in :ids", nativeQuery = true)
+    int clearCounts(Collection<Long> ids);
+
+    // 컬럼을 추가하기 전에 만들어진 모임의 참가 신청 수를 계산한다. JPQL 일괄 UPDATE는 상관 서브쿼리에서 별칭을 잃으므로 SQL로 작성했다.
+    @Transactional
+    @Modifying
+    @Query(value = "update event set " +
+            "accepted_count = (select count(*) from enrollment en where en.event_id = event.id and en.accepted = true), " +
+            "waiting_count = (select count(*) from enrollment en where en.event_id = event.id and en.accepted = false) " +
+            "where accepted_count is null or waiting_count is null", nativeQuery = true)
+    int initializeCounts();
 }
@@ -0,0 +1,21 @@
+package io.lcalmsky.app.modules.main.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.StudyLink;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class Dashboard {
+    // 로그인한 사용자의 첫 화면에 필요한 데이터, 화면에서 사용하는 연관 관계는 모두 조회된 상태로 담긴다.
+    private final Account account; // 관심 주제, 활동 지역 포함
+    private final List<Enrollment> enrollments; // 참석할 모임, 모임과 스터디 포함
+    private final List<StudyCard> recommendations; // 관심 주제와 활동 지역이 일치하는 스터디
+    private final List<StudyLink> managerOf;
+    private final List<StudyLink> memberOf;
+}
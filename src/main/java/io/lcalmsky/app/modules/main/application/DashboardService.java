@@ -0,0 +1,100 @@
+package io.lcalmsky.app.modules.main.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.study.application.StudyRecommender;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.StudyLink;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class DashboardService {
+    // 로그인한 사용자의 첫 화면에 필요한 다섯 가지 조회를 dashboardExecutor에서 동시에 실행한다.
+    // 각 조회는 서로 의존하지 않도록(추천 스터디는 계정의 관심 주제를 서브쿼리로 비교) 만들었으므로
+    // 응답 시간은 다섯 조회의 합이 아니라 가장 느린 조회에 맞춰진다.
+    // 실행기의 스레드 수(app.executors.dashboard)가 동시에 사용하는 커넥션 수의 상한이 되므로, 요청이 몰려도 커넥션 풀을 모두 차지하지 않는다.
+    // 실행기가 가득 차면 CALLER_RUNS로 요청 스레드가 직접 조회해 요청당 동시 조회 수가 자연스럽게 줄어든다.
+    // 구역별 소요 시간은 home.dashboard.section{section=...}, 전체 시간은 home.dashboard로 기록한다.
+
+    private static final int STUDY_LINK_SIZE = 5;
+
+    private final AccountRepository accountRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudyRepository studyRepository;
+    private final Executor dashboardExecutor;
+    private final MeterRegistry meterRegistry;
+    private final StudyRecommender studyRecommender;
+    private final Timer dashboardTimer;
+
+    public DashboardService(AccountRepository accountRepository, EnrollmentRepository enrollmentRepository,
+                            StudyRepository studyRepository, @Qualifier("dashboardExecutor") Executor dashboardExecutor,
+                            StudyRecommender studyRecommender, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studyRepository = studyRepository;
+        this.dashboardExecutor = dashboardExecutor;
+        this.meterRegistry = meterRegistry;
+        this.studyRecommender = studyRecommender;
+        this.dashboardTimer = Timer.builder("home.dashboard")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public Dashboard getDashboard(Account account) {
+        return dashboardTimer.record(() -> {
+            Long accountId = account.getId();
+            CompletableFuture<Account> accountWithInterests = section("account",
+                    () -> accountRepository.findAccountWithTagsAndZonesById(accountId));
+            CompletableFuture<List<Enrollment>> enrollments = section("enrollments",
+                    () -> enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(account, true));
+            CompletableFuture<List<StudyCard>> recommended = section("recommendations",
+                    () -> findRecommendations(accountId));
+            CompletableFuture<List<StudyLink>> managerOf = section("managerOf",
+                    () -> studyRepository.findManagingStudyLinks(accountId, STUDY_LINK_SIZE));
+            CompletableFuture<List<StudyLink>> memberOf = section("memberOf",
+                    () -> studyRepository.findJoinedStudyLinks(accountId, STUDY_LINK_SIZE));
+            try {
+                CompletableFuture.allOf(accountWithInterests, enrollments, recommended, managerOf, memberOf).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            return new Dashboard(accountWithInterests.join(), enrollments.join(), recommended.join(),
+                    managerOf.join(), memberOf.join());
+        });
+    }
+
+    private List<StudyCard> findRecommendations(Long accountId) {
+        if (studyRecommender.isReady()) {
+            return studyRecommender.recommend(accountId); // 미리 계산해 둔 점수 순 추천 목록
+        }
+        // 추천 목록을 준비하기 전에는 관심 주제와 활동 지역이 모두 일치하는 최신 스터디를 조회한다.
+        return studyRepository.findByAccountInterests(accountId).stream()
+                .map(StudyCard::from)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private <T> CompletableFuture<T> section(String name, Supplier<T> supplier) {
+        // 각 조회는 리포지토리의 읽기 전용 트랜잭션에서 실행되고, 필요한 연관 관계는 fetch join이나 EntityGraph로 함께 조회한다.
+        Timer timer = Timer.builder("home.dashboard.section")
+                .tag("section", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        return CompletableFuture.supplyAsync(() -> timer.record(supplier), dashboardExecutor);
+    }
+}
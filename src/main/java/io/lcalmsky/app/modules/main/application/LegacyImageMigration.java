@@ -0,0 +1,90 @@
+package io.lcalmsky.app.modules.main.application;
+
+import io.lcalmsky.app.infra.image.ImageService;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyImageMigration {
+    // 이미지 저장소를 도입하기 전에 data URL(Base64)로 저장된 스터디 배너, 프로필 이미지를 저장소로 옮기고 조회 경로로 바꾼다.
+    // 옮긴 뒤에는 조건에 맞는 행이 없으므로 다음 실행부터는 조회 한 번으로 끝난다.
+    // PostgreSQL에서 Hibernate는 @Lob String을 large object(oid 컬럼)로 저장했으므로, @Lob을 제거한 뒤에는 컬럼 값이 oid 숫자로 읽힌다.
+    // 그래서 먼저 oid 컬럼을 large object의 내용을 담은 text 컬럼으로 바꾼 뒤 옮긴다.
+    // 참조가 끊긴 large object는 지우지 않으므로 필요하면 vacuumlo로 정리한다.
+
+    private static final int PAGE_SIZE = 100;
+
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+    private final ImageService imageService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (isPostgreSql()) {
+            convertLargeObjectColumn("study", "image");
+            convertLargeObjectColumn("account", "image");
+        }
+        int studies = migrate("study", lastId -> studyRepository.findIdsWithInlineImageAfter(lastId, PageRequest.of(0, PAGE_SIZE)),
+                studyRepository::findImageById, studyRepository::updateImage);
+        int accounts = migrate("account", lastId -> accountRepository.findIdsWithInlineImageAfter(lastId, PageRequest.of(0, PAGE_SIZE)),
+                accountRepository::findImageById, accountRepository::updateImage);
+        if (studies + accounts > 0) {
+            log.info("moved inline images to the image store: {} studies, {} accounts", studies, accounts);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private void convertLargeObjectColumn(String table, String column) {
+        Integer oidColumns = jdbcTemplate.queryForObject("select count(*) from information_schema.columns " +
+                "where table_schema = current_schema() and table_name = ? and column_name = ? and data_type = 'oid'",
+                Integer.class, table, column);
+        if (oidColumns == null || oidColumns == 0) {
+            return;
+        }
+        // lo_get으로 large object의 내용을 읽어 data URL 문자열로 바꾼다. null인 행은 null로 남는다.
+        jdbcTemplate.execute("alter table " + table + " alter column " + column + " type text " +
+                "using convert_from(lo_get(" + column + "), 'UTF8')");
+        log.info("converted large object column {}.{} to text", table, column);
+    }
+
+    private int migrate(String name, Function<Long, List<Long>> findIds, Function<Long, String> findImage,
+                        BiFunction<Long, String, Integer> updateImage) {
+        int migrated = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<Long> ids = findIds.apply(lastId);
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+            for (Long id : ids) {
+                // 한 건씩 읽어 큰 Base64 문자열을 여러 개 동시에 메모리에 올리지 않는다.
+                try {
+                    updateImage.apply(id, imageService.save(findImage.apply(id)));
+                    migrated++;
+                } catch (IllegalArgumentException e) {
+                    log.warn("{} {} has an unreadable inline image, leaving it as is: {}", name, id, e.getMessage());
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.lcalmsky.app.modules.main.endpoint.controller;
+
+import io.lcalmsky.app.infra.image.ImageService;
+import io.lcalmsky.app.infra.image.ImageStore;
+import io.lcalmsky.app.infra.image.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+@Controller
+@RequiredArgsConstructor
+public class ImageController {
+    // 이미지 키가 내용의 해시이므로 같은 주소의 내용은 바뀌지 않는다. 브라우저가 1년 동안 캐시하고, 다시 요청하더라도 ETag로 304를 응답한다.
+    // Tomcat이 sendfile을 지원하면 파일을 애플리케이션 메모리로 읽지 않고 커널에서 바로 전송한다.
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnailService;
+
+    @GetMapping(ImageService.URL_PREFIX + "{key:.+}")
+    public void image(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!ImageService.isValidKey(key)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<Resource> image = imageStore.find(key);
+        if (image.isPresent()) {
+            write(key, image.get(), CACHE_CONTROL, request, response);
+            return;
+        }
+        // 축소 이미지가 아직 만들어지지 않았으면 만들도록 요청하고, 이번에는 원본을 캐시하지 않도록 응답한다.
+        String originalKey = ImageService.originalKeyOf(key);
+        Optional<Resource> original = ImageService.isVariantKey(key) ? imageStore.find(originalKey) : Optional.empty();
+        if (original.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        thumbnailService.generateAsync(originalKey);
+        write(originalKey, original.get(), CacheControl.noCache().getHeaderValue(), request, response);
+    }
+
+    private void write(String key, Resource resource, String cacheControl, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + key + "\"")) {
+            return; // 304 Not Modified
+        }
+        long length = resource.contentLength();
+        response.setContentType(ImageService.mediaTypeOf(key).toString());
+        response.setContentLengthLong(length);
+        if (resource.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            StreamUtils.copy(inputStream, response.getOutputStream());
+        }
+    }
+}
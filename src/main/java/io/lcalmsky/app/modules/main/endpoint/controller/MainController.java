@@ -1,11 +1,12 @@
 package io.lcalmsky.app.modules.main.endpoint.controller;
 
 import io.lcalmsky.app.modules.account.domain.entity.Account;
-import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
 import io.lcalmsky.app.modules.account.support.CurrentUser;
-import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
-import io.lcalmsky.app.modules.study.domain.entity.Study;
-import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.main.application.Dashboard;
+import io.lcalmsky.app.modules.main.application.DashboardService;
+import io.lcalmsky.app.modules.study.application.RecentStudyFeed;
+import io.lcalmsky.app.modules.study.application.StudySearchService;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,36 +16,36 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
 public class MainController {
 
-    private final StudyRepository studyRepository;
-    private final AccountRepository accountRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final DashboardService dashboardService;
+    private final StudySearchService studySearchService;
+    private final RecentStudyFeed recentStudyFeed;
+    private final StudyListFragmentCache studyListFragmentCache;
 
     @GetMapping("/")
-    public String home(@CurrentUser Account account, Model model) {
+    public String home(@CurrentUser Account account, Model model,
+                       HttpServletRequest request, HttpServletResponse response) {
         // @CurrentUser의 영향을 받아 현재 인증된 사용자 정보에 따라 객체가 할당
         if (account != null) {
-            Account accountLoaded = accountRepository.findAccountWithTagsAndZonesById(account.getId());
-            model.addAttribute(accountLoaded);
-            model.addAttribute("enrollmentList",
-                    enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(accountLoaded, true));
-            model.addAttribute("studyList",
-                    studyRepository.findByAccount(accountLoaded.getTags(), accountLoaded.getZones()));
-            model.addAttribute("studyManagerOf",
-                    studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(
-                            account, false));
-            model.addAttribute("studyMemberOf",
-                    studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(
-                            account, false));
+            // 계정 정보, 참석할 모임, 추천 스터디, 관리/참여중인 스터디를 동시에 조회한다.
+            Dashboard dashboard = dashboardService.getDashboard(account);
+            model.addAttribute(dashboard.getAccount());
+            model.addAttribute("enrollmentList", dashboard.getEnrollments());
+            model.addAttribute("studyList", dashboard.getRecommendations());
+            model.addAttribute("studyManagerOf", dashboard.getManagerOf());
+            model.addAttribute("studyMemberOf", dashboard.getMemberOf());
             return "home";
         }
-        model.addAttribute
-                ("studyList", studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false));
+        // 비로그인 사용자에게는 메모리에 보관한 최근 스터디 목록과 미리 렌더링한 카드 HTML을 사용해 쿼리 없이 응답한다.
+        RecentStudyFeed.Feed feed = recentStudyFeed.getFeed();
+        model.addAttribute("studyListHtml", studyListFragmentCache.render(feed, request, response));
         return "index";
     }
 
@@ -56,9 +57,11 @@ public class MainController {
     @GetMapping("/search/study")
     public String searchStudy(String keyword, Model model,
                               @PageableDefault(size = 9, sort = "publishedDateTime", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
+        Page<StudyCard> studyPage = studySearchService.search(keyword, pageable);
         model.addAttribute("studyPage", studyPage);
         model.addAttribute("keyword", keyword);
+        model.addAttribute("tagFacets", studySearchService.getTagFacets());
+        model.addAttribute("zoneFacets", studySearchService.getZoneFacets());
         model.addAttribute("sortProperty", pageable.getSort().toString().contains("publishedDateTime")
                 ? "publishedDateTime"
                 : "memberCount");
@@ -0,0 +1,70 @@
+package io.lcalmsky.app.modules.main.endpoint.controller;
+
+import io.lcalmsky.app.modules.study.application.RecentStudyFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class StudyListFragmentCache {
+    // 첫 화면의 스터디 카드 목록(fragments.html::study-list)을 렌더링한 HTML을 목록 버전별로 한 번만 만든다.
+    // 링크(@{...})를 만들려면 웹 컨텍스트가 필요하므로 목록이 바뀐 뒤 처음 들어온 요청으로 렌더링한다.
+    // 이때 쿠키가 없는 요청이면 response.encodeURL이 링크에 ;jsessionid=를 붙여 다른 사용자에게도 공유되므로, URL을 바꾸지 않는 응답으로 감싸서 렌더링한다.
+
+    private static final String TEMPLATE = "fragments";
+    private static final Set<String> FRAGMENT = Set.of("study-list");
+
+    private final TemplateEngine templateEngine;
+    private final ServletContext servletContext;
+    private volatile Rendered rendered = new Rendered(-1, null);
+
+    public String render(RecentStudyFeed.Feed feed, HttpServletRequest request, HttpServletResponse response) {
+        Rendered current = rendered;
+        if (current.version == feed.getVersion()) {
+            return current.html;
+        }
+        WebContext context = new WebContext(request, new NonRewritingResponse(response), servletContext, request.getLocale(),
+                Map.of("studyList", feed.getStudies()));
+        String html = templateEngine.process(TEMPLATE, FRAGMENT, context);
+        if (feed.getVersion() > rendered.version) { // 더 새로운 목록으로 렌더링한 결과를 덮어쓰지 않는다.
+            rendered = new Rendered(feed.getVersion(), html);
+        }
+        return html;
+    }
+
+    private static class NonRewritingResponse extends HttpServletResponseWrapper {
+
+        private NonRewritingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+
+    private static class Rendered {
+        private final long version;
+        private final String html;
+
+        private Rendered(long version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.lcalmsky.app.modules.notification.appcation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+public class InMemoryUnreadNotificationCounter implements UnreadNotificationCounter {
+    // 계정별 읽지 않은 알림 수를 크기가 제한된 캐시에 보관하고, 오래 조회하지 않은 계정부터 제거한다.
+    // 알림이 추가되거나 읽히면 값을 더하고 빼지 않고 커밋 이후에 캐시에서 지운다.
+    // 캐시를 채우는 DB 조회가 커밋 전에 시작됐다면 그 조회가 끝날 때까지 기다렸다가 지우므로, 커밋 전의 값이 남거나 같은 알림이 두 번 더해지지 않는다.
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, Long> counters;
+
+    public InMemoryUnreadNotificationCounter(NotificationRepository notificationRepository, AppProperties appProperties) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(appProperties.getNotification().getCounterMaxSize())
+                .expireAfterAccess(appProperties.getNotification().getCounterIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public long count(Long accountId) {
+        // 캐시에 없을 때만 DB에서 count 하고 이후에는 메모리 값을 사용
+        return counters.get(accountId, id -> notificationRepository.countByAccountIdAndChecked(id, false));
+    }
+
+    @Override
+    public void invalidate(Long accountId) {
+        afterCommit(() -> counters.invalidate(accountId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.notification.reconcile-interval-millis:300000}",
+            initialDelayString = "${app.notification.reconcile-interval-millis:300000}")
+    public void reconcile() {
+        // 다른 경로로 바뀐 알림이 있을 수 있으므로 캐시에 있는 계정만 DB 기준으로 다시 맞춘다.
+        ConcurrentMap<Long, Long> map = counters.asMap();
+        List<Long> accountIds = new ArrayList<>(map.keySet());
+        int corrected = 0;
+        for (int from = 0; from < accountIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, accountIds.size()));
+            Map<Long, Long> cached = new HashMap<>();
+            chunk.forEach(accountId -> {
+                Long value = map.get(accountId);
+                if (value != null) {
+                    cached.put(accountId, value);
+                }
+            });
+            if (cached.isEmpty()) {
+                continue;
+            }
+            Map<Long, Long> counts = new HashMap<>();
+            for (Object[] row : notificationRepository.countUncheckedGroupByAccountId(cached.keySet())) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Map.Entry<Long, Long> entry : cached.entrySet()) {
+                long actual = counts.getOrDefault(entry.getKey(), 0L);
+                // 조회한 뒤에 지워졌거나 다시 채워진 값은 건드리지 않는다.
+                if (entry.getValue() != actual && map.replace(entry.getKey(), entry.getValue(), actual)) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("reconciled unread notification counters: {} of {} corrected", corrected, accountIds.size());
+        }
+    }
+
+    long size() {
+        counters.cleanUp();
+        return counters.estimatedSize();
+    }
+}
@@ -0,0 +1,40 @@
+package io.lcalmsky.app.modules.notification.appcation;
+
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationSequenceInitializer {
+    // 알림 id는 공용 hibernate_sequence 대신 notification_seq에서 받는다. ddl-auto: update로 새로 만든 시퀀스는 1부터 시작하므로
+    // 기존 알림 id와 겹치지 않도록 가장 큰 id보다 뒤로 옮긴다. 이미 뒤에 있으면 그대로 둔다.
+    // @Scheduled 작업(fan-out)이 알림을 저장하기 전에 실행되도록 ApplicationReadyEvent가 아닌 빈 초기화 시점에 실행한다.
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory; // 스키마를 갱신해 시퀀스를 만든 뒤에 실행되도록 의존한다.
+
+    @PostConstruct
+    public void initialize() {
+        // create-drop으로 테이블을 만드는 H2는 기존 알림이 없으므로 PostgreSQL에서만 확인한다.
+        if (!isPostgreSql()) {
+            return;
+        }
+        Long value = jdbcTemplate.queryForObject("select setval('" + Notification.ID_SEQUENCE + "', " +
+                "greatest(last_value, (select coalesce(max(id), 0) from notification) + " + Notification.ID_ALLOCATION_SIZE + ")) " +
+                "from " + Notification.ID_SEQUENCE, Long.class);
+        log.info("{} starts after {}", Notification.ID_SEQUENCE, value);
+    }
+
+    private boolean isPostgreSql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
@@ -1,19 +1,35 @@
 package io.lcalmsky.app.modules.notification.appcation;
 
+import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class NotificationService {
-    public void markAsRead(List<Notification> notifications) {
-        notifications.forEach(Notification::read);
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    public void markAsRead(Account account, List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Long> ids = notifications.stream()
+                .map(Notification::getId)
+                .collect(Collectors.toList());
+        if (notificationRepository.markAsRead(account, ids) > 0) {
+            unreadNotificationCounter.invalidate(account.getId());
+        }
     }
 }
 
-// 읽지 않은 알림 리스트를 전달받아 Notification Entity에서 읽은 상태로 직접 바꾸도록 위임한다.
+// 화면에 보여준 읽지 않은 알림들을 update 쿼리 한 번으로 읽은 상태로 변경한다.
+// 변경 감지를 사용하지 않으므로 이미 조회한 엔티티는 읽지 않은 상태 그대로 화면에 렌더링된다.
@@ -0,0 +1,12 @@
+package io.lcalmsky.app.modules.notification.appcation;
+
+public interface UnreadNotificationCounter {
+    // 계정별 읽지 않은 알림 수. 페이지를 렌더링할 때마다 알림 테이블을 count 하지 않기 위해 사용한다.
+    // 서버를 여러 대 운영할 경우 공유 저장소(Redis 등)를 사용하는 구현체로 교체할 수 있다.
+
+    long count(Long accountId);
+
+    void invalidate(Long accountId); // 알림이 추가되거나 읽히면 호출해 다음 조회 때 다시 count 하도록 한다.
+
+    void reconcile(); // 저장된 값을 알림 테이블 기준으로 다시 맞춘다.
+}
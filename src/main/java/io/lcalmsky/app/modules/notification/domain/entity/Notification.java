@@ -9,11 +9,19 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_notification_inbox", columnList = "account_account_id, checked, created, id"))
+// 알림함 조회(keyset 페이징)와 읽음 여부별 count가 인덱스를 사용할 수 있도록 복합 인덱스를 추가
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Notification {
 
-    @Id @GeneratedValue
+    // fan-out 시 알림을 묶어서 insert 하므로 id를 한 건씩 시퀀스에서 받지 않고 ID_ALLOCATION_SIZE개씩 미리 받아 메모리에서 나눠준다(pooled).
+    public static final int ID_ALLOCATION_SIZE = 500;
+    public static final String ID_SEQUENCE = "notification_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq_generator")
+    @SequenceGenerator(name = "notification_seq_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String title;
@@ -4,37 +4,45 @@ import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.support.CurrentUser;
 import io.lcalmsky.app.modules.notification.appcation.NotificationService;
 import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
 import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 public class NotificationController {
+
+    static final int INBOX_SIZE = 20;
+
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
 
     @GetMapping("/notifications")
-    public String getNotifications(@CurrentUser Account account, Model model) {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedDesc(account, false);
-        long numberOfChecked = notificationRepository.countByAccountAndChecked(account, true);
-        putCategorizedNotifications(model, notifications, numberOfChecked, notifications.size());
+    public String getNotifications(@CurrentUser Account account, @RequestParam(required = false) NotificationType type, Model model) {
+        List<Notification> notifications = putInbox(model, account, false, type, null, null);
         model.addAttribute("isNew", true);
-        notificationService.markAsRead(notifications);
+        notificationService.markAsRead(account, notifications);
+        // 전체 알림이 아닌 현재 화면에 보여준 알림만 읽음 처리한다.
         return "notification/list";
     }
 
     @GetMapping("/notifications/old")
-    public String getOldNotifications(@CurrentUser Account account, Model model) {
-        List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedDesc(account, true);
-        long numberOfNotChecked = notificationRepository.countByAccountAndChecked(account, false);
-        putCategorizedNotifications(model, notifications, notifications.size(), numberOfNotChecked);
+    public String getOldNotifications(@CurrentUser Account account, @RequestParam(required = false) NotificationType type,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                      @RequestParam(required = false) Long beforeId, Model model) {
+        putInbox(model, account, true, type, before, beforeId);
         model.addAttribute("isNew", false);
         return "notification/list";
     }
@@ -45,35 +53,53 @@ public class NotificationController {
         return "redirect:/notifications";
     }
 
-    private void putCategorizedNotifications(Model model, List<Notification> notifications,
-                                             long numberOfChecked, long numberOfNotChecked) {
-        ArrayList<Notification> newStudyNotifications = new ArrayList<>();
-        ArrayList<Notification> eventEnrollmentNotifications = new ArrayList<>();
-        ArrayList<Notification> watchingStudyNotifications = new ArrayList<>();
-        for (Notification notification : notifications) {
-            switch (notification.getNotificationType()) {
-                case STUDY_CREATED -> {
-                    newStudyNotifications.add(notification);
-                    break;
-                }
-                case EVENT_ENROLLMENT -> {
-                    eventEnrollmentNotifications.add(notification);
-                    break;
-                }
-                case STUDY_UPDATED -> {
-                    watchingStudyNotifications.add(notification);
-                    break;
-                }
-            }
+    private List<Notification> putInbox(Model model, Account account, boolean checked, NotificationType type,
+                                        LocalDateTime before, Long beforeId) {
+        // 다음 페이지가 있는지 확인하기 위해 한 건을 더 조회한다.
+        List<Notification> fetched = notificationRepository.findInbox(account, checked, type, before, beforeId, INBOX_SIZE + 1);
+        boolean hasNext = fetched.size() > INBOX_SIZE;
+        List<Notification> notifications = hasNext ? fetched.subList(0, INBOX_SIZE) : fetched;
+
+        Map<NotificationType, Long> counts = countByType(account, checked);
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        long otherTotal = notificationRepository.countByAccountAndChecked(account, !checked);
+
+        model.addAttribute("numberOfNotChecked", checked ? otherTotal : total);
+        model.addAttribute("numberOfChecked", checked ? total : otherTotal);
+        model.addAttribute("numberOfNewStudyNotifications", counts.get(NotificationType.STUDY_CREATED));
+        model.addAttribute("numberOfEventEnrollmentNotifications", counts.get(NotificationType.EVENT_ENROLLMENT));
+        model.addAttribute("numberOfWatchingStudyNotifications", counts.get(NotificationType.STUDY_UPDATED));
+        model.addAttribute("type", type);
+        model.addAttribute("hasNext", hasNext);
+        if (hasNext) {
+            Notification last = notifications.get(notifications.size() - 1);
+            model.addAttribute("nextBefore", last.getCreated());
+            model.addAttribute("nextBeforeId", last.getId());
         }
-        model.addAttribute("numberOfNotChecked", numberOfNotChecked);
-        model.addAttribute("numberOfChecked", numberOfChecked);
+
+        Map<NotificationType, List<Notification>> byType = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getNotificationType,
+                        () -> new EnumMap<>(NotificationType.class), Collectors.toList()));
         model.addAttribute("notifications", notifications);
-        model.addAttribute("newStudyNotifications", newStudyNotifications);
-        model.addAttribute("eventEnrollmentNotifications", eventEnrollmentNotifications);
-        model.addAttribute("watchingStudyNotifications", watchingStudyNotifications);
+        model.addAttribute("newStudyNotifications", byType.getOrDefault(NotificationType.STUDY_CREATED, List.of()));
+        model.addAttribute("eventEnrollmentNotifications", byType.getOrDefault(NotificationType.EVENT_ENROLLMENT, List.of()));
+        model.addAttribute("watchingStudyNotifications", byType.getOrDefault(NotificationType.STUDY_UPDATED, List.of()));
+        return notifications;
+    }
+
+    private Map<NotificationType, Long> countByType(Account account, boolean checked) {
+        // 종류별 알림 수를 group by 쿼리 한 번으로 계산한다.
+        Map<NotificationType, Long> counts = new EnumMap<>(NotificationType.class);
+        for (NotificationType notificationType : NotificationType.values()) {
+            counts.put(notificationType, 0L);
+        }
+        for (Object[] row : notificationRepository.countGroupByNotificationType(account, checked)) {
+            counts.put((NotificationType) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 }
 
 // 새로운 알림과 기존 알림의 기능은 거의 비슷한데 쿼리를 위한 파라미터만 상이하다.
 // 공통적인 기능을 메서드로 추출해주었다.
+// 전체 알림을 불러와 자바에서 나누지 않고, 화면에 보여줄 만큼만 keyset 방식으로 조회하고 종류별 수는 group by로 계산한다.
@@ -2,7 +2,7 @@ package io.lcalmsky.app.modules.notification.infra.interceptor;
 
 import io.lcalmsky.app.modules.account.domain.UserAccount;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
-import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,7 +18,7 @@ import java.util.Optional;
 @Component
 @RequiredArgsConstructor
 public class NotificationInterceptor implements HandlerInterceptor {
-    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response,
@@ -30,8 +30,8 @@ public class NotificationInterceptor implements HandlerInterceptor {
             // 인증 정보가 존재하고 UserAccount타입일떄
             Account account = ((UserAccount) authentication.getPrincipal()).getAccount();
             // Account 정보를 획득하여
-            long count = notificationRepository.countByAccountAndChecked(account, false);
-            // 알림 정보를 조회하고
+            long count = unreadNotificationCounter.count(account.getId());
+            // 메모리에 저장된 읽지 않은 알림 수를 조회하고 (DB를 조회하지 않는다)
             modelAndView.addObject("hasNotification", count > 0);
             //Model로 전달한다.
         }
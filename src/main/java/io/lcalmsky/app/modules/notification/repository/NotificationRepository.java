@@ -2,17 +2,43 @@ package io.lcalmsky.app.modules.notification.repository;
 
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Transactional(readOnly = true)
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryExtension {
     long countByAccountAndChecked(Account account, boolean checked);
 
+    long countByAccountIdAndChecked(Long accountId, boolean checked);
+
+    @Query("select n.account.id, count(n) from Notification n " +
+            "where n.checked = false and n.account.id in :accountIds group by n.account.id")
+    List<Object[]> countUncheckedGroupByAccountId(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("select n.account.id from Notification n " +
+            "where n.account.id in :accountIds and n.notificationType = :type and n.link = :link")
+    Set<Long> findNotifiedAccountIds(@Param("accountIds") Collection<Long> accountIds, @Param("type") NotificationType type,
+                                     @Param("link") String link);
+    // 같은 이벤트가 다시 발행됐을 때 이미 알림을 받은 계정을 찾는다(StudyCreatedFanOut).
+
+    @Query("select n.notificationType, count(n) from Notification n " +
+            "where n.account = :account and n.checked = :checked group by n.notificationType")
+    List<Object[]> countGroupByNotificationType(@Param("account") Account account, @Param("checked") boolean checked);
+
     @Transactional
-    List<Notification> findByAccountAndCheckedOrderByCreatedDesc(Account account, boolean b);
+    @Modifying
+    @Query("update Notification n set n.checked = true " +
+            "where n.account = :account and n.checked = false and n.id in :ids")
+    int markAsRead(@Param("account") Account account, @Param("ids") Collection<Long> ids);
+    // 엔티티를 하나씩 변경 감지하지 않고 update 쿼리 한 번으로 읽음 처리한다.
 
     @Transactional
     void deleteByAccountAndChecked(Account account, boolean b);
@@ -0,0 +1,15 @@
+package io.lcalmsky.app.modules.notification.repository;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface NotificationRepositoryExtension {
+    List<Notification> findInbox(Account account, boolean checked, NotificationType notificationType,
+                                 LocalDateTime beforeCreated, Long beforeId, int limit);
+}
@@ -0,0 +1,40 @@
+package io.lcalmsky.app.modules.notification.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
+import io.lcalmsky.app.modules.notification.domain.entity.QNotification;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class NotificationRepositoryExtensionImpl extends QuerydslRepositorySupport implements NotificationRepositoryExtension {
+
+    public NotificationRepositoryExtensionImpl() {
+        super(Notification.class);
+    }
+
+    @Override
+    public List<Notification> findInbox(Account account, boolean checked, NotificationType notificationType,
+                                        LocalDateTime beforeCreated, Long beforeId, int limit) {
+        QNotification notification = QNotification.notification;
+        BooleanBuilder where = new BooleanBuilder(notification.account.eq(account)
+                .and(notification.checked.eq(checked)));
+        if (notificationType != null) {
+            where.and(notification.notificationType.eq(notificationType));
+        }
+        if (beforeCreated != null && beforeId != null) {
+            where.and(notification.created.lt(beforeCreated)
+                    .or(notification.created.eq(beforeCreated).and(notification.id.lt(beforeId))));
+        }
+        return from(notification)
+                .where(where)
+                .orderBy(notification.created.desc(), notification.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+    // offset 대신 이전 페이지의 마지막 (created, id) 이후부터 조회(keyset)하므로 알림이 많이 쌓여도
+    // (account, checked, created, id) 인덱스를 따라 필요한 행만 읽는다.
+}
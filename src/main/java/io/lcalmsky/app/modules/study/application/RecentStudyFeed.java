@@ -0,0 +1,62 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentStudyFeed {
+    // 비로그인 사용자의 첫 화면에 보여줄 최근 공개 스터디 9개를 메모리에 보관한다.
+    // 스터디 공개, 종료, 삭제가 커밋되면 다시 조회하고, 이름이나 멤버 수 같은 나머지 변경은 주기적으로 반영한다.
+
+    private static final int FEED_SIZE = 9;
+
+    private final StudyRepository studyRepository;
+    private volatile Feed feed = new Feed(0, null);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.home.feed-refresh-interval-millis:60000}",
+            initialDelayString = "${app.home.feed-refresh-interval-millis:60000}")
+    public synchronized void refresh() { // 동시에 갱신될 때 먼저 조회한 목록이 나중 목록을 덮어쓰지 않도록 한다.
+        List<StudyCard> studies = studyRepository.findRecentStudyCards(FEED_SIZE); // 엔티티 없이 카드에 필요한 컬럼만 조회
+        feed = new Feed(feed.getVersion() + 1, studies);
+    }
+
+    public void refreshAfterCommit() {
+        afterCommit(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("failed to refresh recent study feed, it will be refreshed on the next schedule", e);
+            }
+        });
+    }
+
+    public Feed getFeed() {
+        Feed current = feed;
+        if (current.getStudies() == null) { // 애플리케이션이 준비되기 전에 요청이 들어온 경우
+            refresh();
+            current = feed;
+        }
+        return current;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Feed {
+        private final long version; // 목록이 바뀔 때마다 증가, 렌더링 결과 캐시의 키로 사용
+        private final List<StudyCard> studies;
+    }
+}
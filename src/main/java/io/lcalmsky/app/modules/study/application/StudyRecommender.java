@@ -0,0 +1,360 @@
+package io.lcalmsky.app.modules.study.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.infra.index.InMemoryIndexLock;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.event.AccountInterestsChangedEvent;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+public class StudyRecommender {
+    // 공개 중인(종료되지 않은) 스터디를 메모리에 보관하고, 계정의 관심 주제/활동 지역과 겹치는 정도,
+    // 공개된 지 얼마나 되었는지, 멤버 수, 모집 여부로 점수를 매겨 계정별 상위 N개를 미리 계산해 둔다.
+    // - 스터디가 공개, 수정, 종료되면(커밋 이후) 해당 스터디와 관심사가 겹치는 계정의 추천 목록만 다시 계산한다.
+    //   계정 수만큼 반복하므로 커밋한 스레드가 아닌 recommendationExecutor에서 처리하고, 그 사이에 바뀐 스터디를 모아 한 번에 다시 계산한다.
+    // - 계정의 관심 주제나 활동 지역이 바뀌면 그 계정의 추천 목록을 비우고 다음 조회 때 다시 계산한다.
+    // 추천 목록은 스터디 id 배열로만 보관하고, 화면에 보여줄 카드는 메모리의 스터디 정보에서 꺼내므로 DB를 조회하지 않는다.
+    // 스터디 정보는 다른 색인과 같이 InMemoryIndexLock으로 보호해, 시작할 때 읽은 스터디 정보가 그 사이 커밋된 변경을 덮어쓰지 않는다.
+
+    private static final int BOOTSTRAP_PAGE_SIZE = 500;
+    private static final double TAG_WEIGHT = 3.0;
+    private static final double ZONE_WEIGHT = 2.0;
+    private static final double RECENCY_WEIGHT = 2.0;
+    private static final double MEMBER_WEIGHT = 0.5;
+    private static final double RECRUITING_WEIGHT = 1.0;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30;
+
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+    private final int size;
+    private final InMemoryIndexLock lock = new InMemoryIndexLock();
+    private final Map<Long, Candidate> studies = new HashMap<>();
+    private final Map<Long, Set<Long>> studiesByTag = new HashMap<>();
+    private final Map<Long, Set<Long>> studiesByZone = new HashMap<>();
+    private final Cache<Long, Recommendations> recommendations;
+    private final Executor recommendationExecutor;
+    private final Map<Long, Affected> dirty = new ConcurrentHashMap<>(); // 다시 계산해야 하는 스터디와 바뀌기 전후의 관심 주제, 지역
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    public StudyRecommender(StudyRepository studyRepository, AccountRepository accountRepository,
+                            AppProperties appProperties, MeterRegistry meterRegistry,
+                            @Qualifier("recommendationExecutor") Executor recommendationExecutor) {
+        this.studyRepository = studyRepository;
+        this.accountRepository = accountRepository;
+        this.recommendationExecutor = recommendationExecutor;
+        AppProperties.Recommendation recommendation = appProperties.getRecommendation();
+        this.size = recommendation.getSize();
+        this.recommendations = Caffeine.newBuilder()
+                .maximumSize(recommendation.getMaxAccounts())
+                .expireAfterWrite(recommendation.getRefreshInterval()) // 공개된 지 얼마나 되었는지에 따른 점수 변화를 반영
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recommendations, "studyRecommendations");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        Long lastId = 0L;
+        while (true) {
+            List<Long> ids = studyRepository.findPublishedIdsAfter(lastId, PageRequest.of(0, BOOTSTRAP_PAGE_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Candidate> page = studyRepository.findStudiesWithTagsAndZonesByIdIn(ids).stream()
+                    .filter(study -> !study.isClosed())
+                    .map(Candidate::from)
+                    .collect(Collectors.toList());
+            lock.write(() -> page.forEach(this::put));
+            lastId = ids.get(ids.size() - 1);
+        }
+        lock.ready();
+        scheduleRefresh(); // 색인을 만드는 동안 쌓아 둔 변경으로 바뀐 추천 목록
+        log.info("study recommender is ready: {} studies in {} ms", studies.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return lock.isReady();
+    }
+
+    public List<StudyCard> recommend(Long accountId) {
+        Recommendations cached = recommendations.get(accountId, this::load);
+        return lock.read(() -> Arrays.stream(cached.studyIds)
+                .mapToObj(studies::get)
+                .filter(Objects::nonNull) // 목록을 계산한 뒤 종료, 삭제된 스터디는 제외
+                .map(candidate -> candidate.card)
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    public void update(Study study) {
+        // 호출 시점의 스터디 정보를 복사해두고 커밋된 이후에 반영한다.
+        if (!study.isPublished() || study.isClosed()) {
+            remove(study.getId());
+            return;
+        }
+        Candidate candidate = Candidate.from(study);
+        afterCommit(() -> {
+            lock.apply(() -> {
+                Candidate previous = delete(candidate.id);
+                put(candidate);
+                markDirty(candidate.id, candidate.tagIds, candidate.zoneIds);
+                if (previous != null) {
+                    markDirty(previous.id, previous.tagIds, previous.zoneIds); // 관심 주제, 지역이 빠진 계정도 다시 계산
+                }
+            });
+            scheduleRefresh();
+        });
+    }
+
+    public void remove(Long studyId) {
+        afterCommit(() -> {
+            lock.apply(() -> {
+                Candidate removed = delete(studyId);
+                if (removed != null) {
+                    markDirty(studyId, removed.tagIds, removed.zoneIds);
+                }
+            });
+            scheduleRefresh();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleAccountInterestsChangedEvent(AccountInterestsChangedEvent event) {
+        recommendations.invalidate(event.getAccountId());
+    }
+
+    private Recommendations load(Long accountId) {
+        // 캐시에 없는 계정은 관심 주제, 활동 지역을 한 번 조회하고 이후에는 메모리에서 다시 계산한다.
+        Account account = accountRepository.findAccountWithTagsAndZonesById(accountId);
+        if (account == null) {
+            return new Recommendations(new long[0], new long[0], new long[0]);
+        }
+        long[] tagIds = account.getTags().stream().mapToLong(Tag::getId).sorted().toArray();
+        long[] zoneIds = account.getZones().stream().mapToLong(Zone::getId).sorted().toArray();
+        return rank(tagIds, zoneIds);
+    }
+
+    private void markDirty(Long studyId, long[] tagIds, long[] zoneIds) {
+        dirty.merge(studyId, new Affected(tagIds, zoneIds), Affected::merge);
+    }
+
+    private void scheduleRefresh() {
+        // 실행 대기 중인 작업이 있으면 바뀐 스터디만 추가하고, 없을 때만 새로 실행한다.
+        // 대기 중인 작업은 많아야 하나이므로 recommendationExecutor가 작업을 버리는(discard) 경우는 종료할 때뿐이다.
+        // 커밋한 스레드에서 다시 계산하지 않도록 caller-runs를 사용하지 않고, 잠금 밖에서 호출한다.
+        if (dirty.isEmpty()) {
+            return; // 색인을 만드는 중이라 변경을 쌓아 두었으면 ready에서 반영한 뒤 실행한다.
+        }
+        if (refreshScheduled.compareAndSet(false, true)) {
+            recommendationExecutor.execute(this::refreshDirty);
+        }
+    }
+
+    private void refreshDirty() {
+        // 작업을 시작하면서 플래그를 내려 두므로 이후에 바뀐 스터디는 다음 작업에서 다시 계산된다.
+        refreshScheduled.set(false);
+        Set<Long> studyIds = new HashSet<>();
+        Affected affected = new Affected(new long[0], new long[0]);
+        for (Long studyId : dirty.keySet()) {
+            Affected removed = dirty.remove(studyId);
+            if (removed != null) {
+                studyIds.add(studyId);
+                affected = affected.merge(removed);
+            }
+        }
+        if (studyIds.isEmpty()) {
+            return;
+        }
+        // 바뀐 스터디와 관심사가 겹치거나 이미 추천 목록에 있던 계정만 메모리에서 다시 계산한다.
+        long[] tagIds = affected.tagIds;
+        long[] zoneIds = affected.zoneIds;
+        recommendations.asMap().replaceAll((accountId, current) ->
+                current.containsAny(studyIds) || intersects(current.tagIds, tagIds) || intersects(current.zoneIds, zoneIds)
+                        ? rank(current.tagIds, current.zoneIds)
+                        : current);
+    }
+
+    private Recommendations rank(long[] tagIds, long[] zoneIds) {
+        return lock.read(() -> rankLocked(tagIds, zoneIds));
+    }
+
+    private Recommendations rankLocked(long[] tagIds, long[] zoneIds) {
+        Map<Long, int[]> overlaps = new HashMap<>(); // 스터디별 [관심 주제 일치 수, 지역 일치 수]
+        for (long tagId : tagIds) {
+            studiesByTag.getOrDefault(tagId, Set.of()).forEach(id -> overlaps.computeIfAbsent(id, k -> new int[2])[0]++);
+        }
+        for (long zoneId : zoneIds) {
+            studiesByZone.getOrDefault(zoneId, Set.of()).forEach(id -> overlaps.computeIfAbsent(id, k -> new int[2])[1]++);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble((Scored scored) -> scored.score)
+                .thenComparingLong(scored -> scored.id)); // 점수가 같으면 먼저 만들어진 스터디가 먼저 밀려난다.
+        overlaps.forEach((id, overlap) -> {
+            top.offer(new Scored(id, score(studies.get(id), overlap[0], overlap[1], now)));
+            if (top.size() > size) {
+                top.poll();
+            }
+        });
+        long[] studyIds = new long[top.size()];
+        for (int i = studyIds.length - 1; i >= 0; i--) {
+            studyIds[i] = top.poll().id;
+        }
+        return new Recommendations(tagIds, zoneIds, studyIds);
+    }
+
+    static double score(Candidate candidate, int tagOverlap, int zoneOverlap, LocalDateTime now) {
+        double ageDays = candidate.publishedDateTime == null ? 0
+                : Math.max(0, Duration.between(candidate.publishedDateTime, now).toHours() / 24.0);
+        return TAG_WEIGHT * tagOverlap
+                + ZONE_WEIGHT * zoneOverlap
+                + RECENCY_WEIGHT * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS)
+                + MEMBER_WEIGHT * Math.log1p(candidate.card.getMemberCount())
+                + (candidate.recruiting ? RECRUITING_WEIGHT : 0);
+    }
+
+    private void put(Candidate candidate) {
+        studies.put(candidate.id, candidate);
+        for (long tagId : candidate.tagIds) {
+            studiesByTag.computeIfAbsent(tagId, k -> new HashSet<>()).add(candidate.id);
+        }
+        for (long zoneId : candidate.zoneIds) {
+            studiesByZone.computeIfAbsent(zoneId, k -> new HashSet<>()).add(candidate.id);
+        }
+    }
+
+    private Candidate delete(Long studyId) {
+        Candidate removed = studies.remove(studyId);
+        if (removed == null) {
+            return null;
+        }
+        for (long tagId : removed.tagIds) {
+            removePosting(studiesByTag, tagId, studyId);
+        }
+        for (long zoneId : removed.zoneIds) {
+            removePosting(studiesByZone, zoneId, studyId);
+        }
+        return removed;
+    }
+
+    private static void removePosting(Map<Long, Set<Long>> postings, long key, Long studyId) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(studyId);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static boolean intersects(long[] sortedA, long[] sortedB) {
+        for (long value : sortedB) {
+            if (Arrays.binarySearch(sortedA, value) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class Candidate {
+        private final Long id;
+        private final StudyCard card;
+        private final long[] tagIds;
+        private final long[] zoneIds;
+        private final boolean recruiting;
+        private final LocalDateTime publishedDateTime;
+
+        private Candidate(Long id, StudyCard card, long[] tagIds, long[] zoneIds, boolean recruiting,
+                          LocalDateTime publishedDateTime) {
+            this.id = id;
+            this.card = card;
+            this.tagIds = tagIds;
+            this.zoneIds = zoneIds;
+            this.recruiting = recruiting;
+            this.publishedDateTime = publishedDateTime;
+        }
+
+        static Candidate from(Study study) {
+            return new Candidate(study.getId(), StudyCard.from(study),
+                    study.getTags().stream().mapToLong(Tag::getId).toArray(),
+                    study.getZones().stream().mapToLong(Zone::getId).toArray(),
+                    study.isRecruiting(), study.getPublishedDateTime());
+        }
+    }
+
+    private static class Recommendations {
+        private final long[] tagIds; // 정렬된 계정의 관심 주제 id
+        private final long[] zoneIds; // 정렬된 계정의 활동 지역 id
+        private final long[] studyIds; // 점수가 높은 순서
+
+        private Recommendations(long[] tagIds, long[] zoneIds, long[] studyIds) {
+            this.tagIds = tagIds;
+            this.zoneIds = zoneIds;
+            this.studyIds = studyIds;
+        }
+
+        private boolean containsAny(Set<Long> ids) {
+            for (long id : studyIds) {
+                if (ids.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Affected {
+        private final long[] tagIds;
+        private final long[] zoneIds;
+
+        private Affected(long[] tagIds, long[] zoneIds) {
+            this.tagIds = tagIds;
+            this.zoneIds = zoneIds;
+        }
+
+        private Affected merge(Affected other) {
+            return new Affected(union(tagIds, other.tagIds), union(zoneIds, other.zoneIds));
+        }
+
+        private static long[] union(long[] a, long[] b) {
+            return LongStream.concat(Arrays.stream(a), Arrays.stream(b)).distinct().toArray();
+        }
+    }
+
+    private static class Scored {
+        private final long id;
+        private final double score;
+
+        private Scored(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
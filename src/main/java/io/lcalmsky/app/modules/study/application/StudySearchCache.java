@@ -0,0 +1,111 @@
+package io.lcalmsky.app.modules.study.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.study.domain.SearchFacet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Component
+public class StudySearchCache {
+    // 검색 결과 페이지(스터디 id 목록과 전체 수)와 관심 주제, 지역별 스터디 수를 캐시한다.
+    // 엔티티가 아닌 id만 저장하므로 캐시 크기가 작고, 화면에 보여줄 스터디는 매번 한 번의 쿼리로 조회한다.
+    // 검색 결과에 영향을 주는 스터디 변경이 커밋되면 전체를 비운다.
+    // 멤버 가입, 탈퇴는 검색 결과에 포함되는 스터디와 전체 수를 바꾸지 않으므로 멤버 수로 정렬한 결과 중 그 스터디를 포함하는 검색어의 결과만 지운다.
+
+    private static final String MEMBER_COUNT = "memberCount";
+
+    private static final String TAG_FACETS = "tags";
+    private static final String ZONE_FACETS = "zones";
+
+    private final Cache<Key, StudySearchIndex.SearchResult> results;
+    private final Cache<String, List<SearchFacet>> facets;
+    private final AtomicLong generation = new AtomicLong();
+
+    public StudySearchCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.Search search = appProperties.getSearch();
+        this.results = Caffeine.newBuilder()
+                .maximumSize(search.getCacheMaxSize())
+                .expireAfterWrite(search.getCacheTtl())
+                .recordStats()
+                .build();
+        this.facets = Caffeine.newBuilder()
+                .expireAfterWrite(search.getFacetTtl())
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions 등을 기록한다.
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "studySearch");
+        CaffeineCacheMetrics.monitor(meterRegistry, facets, "studySearchFacets");
+    }
+
+    public StudySearchIndex.SearchResult getResult(String keyword, Pageable pageable,
+                                                   Supplier<StudySearchIndex.SearchResult> loader) {
+        return get(results, new Key(StudySearchIndex.normalize(keyword), pageable.getPageNumber(),
+                pageable.getPageSize(), pageable.getSort()), loader);
+    }
+
+    public List<SearchFacet> getTagFacets(Supplier<List<SearchFacet>> loader) {
+        return get(facets, TAG_FACETS, loader);
+    }
+
+    public List<SearchFacet> getZoneFacets(Supplier<List<SearchFacet>> loader) {
+        return get(facets, ZONE_FACETS, loader);
+    }
+
+    public void invalidateAll() {
+        // 색인 반영과 마찬가지로 커밋된 이후에 비운다. 롤백되면 캐시를 유지한다.
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            results.invalidateAll();
+            facets.invalidateAll();
+        });
+    }
+
+    public void evictMemberCountOrder(Predicate<String> matchesKeyword) {
+        afterCommit(() -> {
+            // 지우기 전에 시작된 조회가 이전 멤버 수로 정렬한 결과를 저장하지 않도록 한다.
+            generation.incrementAndGet();
+            results.asMap().keySet().removeIf(key -> key.sortsBy(MEMBER_COUNT) && matchesKeyword.test(key.keyword));
+        });
+    }
+
+    private <K, V> V get(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 조회하는 동안 캐시가 비워졌다면 이전 데이터로 계산했을 수 있으므로 저장하지 않는다.
+        long started = generation.get();
+        V loaded = loader.get();
+        if (generation.get() == started) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String keyword;
+        private final int page;
+        private final int size;
+        private final Sort sort;
+
+        boolean sortsBy(String property) {
+            return sort.getOrderFor(property) != null;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.infra.index.InMemoryIndexLock;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static io.lcalmsky.app.infra.transaction.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudySearchIndex {
+    // 공개된 스터디의 이름, 관심 주제, 지역 이름을 글자 단위 n-gram(1, 2글자)으로 나눈 역색인.
+    // 한국어는 띄어쓰기나 조사 때문에 단어 단위로 나누기 어려우므로 형태소 분석 대신 bigram을 사용한다.
+    // 검색어의 n-gram을 모두 포함한 스터디만 후보로 추리고, 실제로 검색어를 포함하는지 확인한 뒤 점수를 매긴다.
+    // 색인은 InMemoryIndexLock으로 보호한다. 서버를 여러 대로 늘리면 색인을 검색 엔진으로 옮긴다.
+
+    private static final int BOOTSTRAP_PAGE_SIZE = 500;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int ZONE_WEIGHT = 1;
+
+    private final StudyRepository studyRepository;
+    private final InMemoryIndexLock lock = new InMemoryIndexLock();
+    private final Map<Long, StudyDocument> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long started = System.currentTimeMillis();
+        Long lastId = 0L;
+        while (true) {
+            List<Long> ids = studyRepository.findPublishedIdsAfter(lastId, PageRequest.of(0, BOOTSTRAP_PAGE_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<StudyDocument> page = studyRepository.findStudiesWithTagsAndZonesByIdIn(ids).stream()
+                    .map(StudyDocument::from)
+                    .collect(Collectors.toList());
+            lock.write(() -> page.forEach(this::put));
+            lastId = ids.get(ids.size() - 1);
+        }
+        lock.ready();
+        log.info("study search index is ready: {} studies, {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return lock.isReady();
+    }
+
+    public void index(Study study) {
+        // 호출 시점의 스터디 정보를 복사해두고 커밋된 이후에 색인에 반영한다.
+        if (!study.isPublished()) {
+            return;
+        }
+        StudyDocument document = StudyDocument.from(study);
+        afterCommit(() -> lock.apply(() -> put(document)));
+    }
+
+    public void remove(Long studyId) {
+        afterCommit(() -> lock.apply(() -> delete(studyId)));
+    }
+
+    public SearchResult search(String keyword, Sort sort, long offset, int limit) {
+        String query = normalize(keyword);
+        if (query.isBlank()) {
+            return new SearchResult(List.of(), 0);
+        }
+        return lock.read(() -> {
+            List<Hit> hits = new ArrayList<>();
+            for (Long studyId : candidates(query)) {
+                StudyDocument document = documents.get(studyId);
+                int score = document.score(query);
+                if (score > 0) {
+                    hits.add(new Hit(document, score));
+                }
+            }
+            hits.sort(comparator(sort));
+            List<Long> ids = hits.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(hit -> hit.document.getId())
+                    .collect(Collectors.toList());
+            return new SearchResult(ids, hits.size());
+        });
+    }
+
+    public boolean matches(Long studyId, String keyword) {
+        // 스터디가 검색어의 검색 결과에 포함되는지 확인한다. 바뀐 스터디에 영향을 받는 캐시만 지울 때 사용한다(StudySearchCache).
+        String query = normalize(keyword);
+        if (query.isBlank()) {
+            return false;
+        }
+        return lock.read(() -> {
+            StudyDocument document = documents.get(studyId);
+            return document != null && document.score(query) > 0;
+        });
+    }
+
+    private Collection<Long> candidates(String query) {
+        // 검색어의 n-gram 색인을 작은 것부터 교집합해 후보를 줄인다.
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private Comparator<Hit> comparator(Sort sort) {
+        // 점수가 높은 순서로 정렬하고, 점수가 같으면 화면에서 선택한 정렬 기준(공개일, 멤버 수)을 따른다.
+        Comparator<Hit> comparator = Comparator.comparingInt((Hit hit) -> hit.score).reversed();
+        for (Sort.Order order : sort) {
+            Comparator<Hit> byProperty;
+            if ("memberCount".equals(order.getProperty())) {
+                byProperty = Comparator.comparingInt(hit -> hit.document.getMemberCount());
+            } else if ("publishedDateTime".equals(order.getProperty())) {
+                byProperty = Comparator.comparing(hit -> hit.document.getPublishedDateTime(),
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+            } else {
+                continue;
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(hit -> hit.document.getId());
+    }
+
+    private void put(StudyDocument document) {
+        delete(document.getId());
+        documents.put(document.getId(), document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.getId());
+        }
+    }
+
+    private void delete(Long studyId) {
+        StudyDocument previous = documents.remove(studyId);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(studyId) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        // 전각/반각, 대소문자 차이를 없앤다.
+        return text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    static Set<String> queryGrams(String query) {
+        // 한 글자 검색어는 글자 자체로, 두 글자 이상이면 bigram으로 찾는다.
+        if (query.length() == 1) {
+            return Set.of(query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    @Getter
+    static class StudyDocument {
+        private final Long id;
+        private final String title;
+        private final List<String> tags;
+        private final List<String> zones;
+        private final LocalDateTime publishedDateTime;
+        private final int memberCount;
+
+        private StudyDocument(Long id, String title, List<String> tags, List<String> zones,
+                              LocalDateTime publishedDateTime, int memberCount) {
+            this.id = id;
+            this.title = title;
+            this.tags = tags;
+            this.zones = zones;
+            this.publishedDateTime = publishedDateTime;
+            this.memberCount = memberCount;
+        }
+
+        static StudyDocument from(Study study) {
+            return new StudyDocument(study.getId(), normalize(study.getTitle()),
+                    study.getTags().stream().map(Tag::getTitle).map(StudySearchIndex::normalize).collect(Collectors.toList()),
+                    study.getZones().stream().map(Zone::getLocalNameOfCity).map(StudySearchIndex::normalize).collect(Collectors.toList()),
+                    study.getPublishedDateTime(), study.getMemberCount() == null ? 0 : study.getMemberCount());
+        }
+
+        Set<String> grams() {
+            Set<String> grams = StudySearchIndex.grams(title);
+            tags.forEach(tag -> grams.addAll(StudySearchIndex.grams(tag)));
+            zones.forEach(zone -> grams.addAll(StudySearchIndex.grams(zone)));
+            return grams;
+        }
+
+        int score(String query) {
+            // 기존 검색과 같이 이름, 관심 주제, 지역 이름 중 하나라도 검색어를 포함하면 결과에 포함한다.
+            int score = 0;
+            if (title.contains(query)) {
+                score += title.equals(query) ? TITLE_WEIGHT * 2 : TITLE_WEIGHT;
+            }
+            if (tags.stream().anyMatch(tag -> tag.contains(query))) {
+                score += tags.contains(query) ? TAG_WEIGHT * 2 : TAG_WEIGHT;
+            }
+            if (zones.stream().anyMatch(zone -> zone.contains(query))) {
+                score += zones.contains(query) ? ZONE_WEIGHT * 2 : ZONE_WEIGHT;
+            }
+            return score;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Hit {
+        private final StudyDocument document;
+        private final int score;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchResult {
+        private final List<Long> studyIds;
+        private final long total;
+    }
+}
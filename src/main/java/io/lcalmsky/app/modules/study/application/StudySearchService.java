@@ -0,0 +1,45 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.modules.study.domain.SearchFacet;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class StudySearchService {
+
+    private static final int FACET_SIZE = 10;
+
+    private final StudySearchIndex studySearchIndex;
+    private final StudySearchCache studySearchCache;
+    private final StudyRepository studyRepository;
+
+    public Page<StudyCard> search(String keyword, Pageable pageable) {
+        if (!studySearchIndex.isReady()) {
+            // 색인이 준비되기 전에는 캐시하지 않고 DB에서 검색
+            return studyRepository.findByKeyword(keyword, pageable).map(StudyCard::from);
+        }
+        // 현재 페이지에 해당하는 스터디 id만 순서대로 캐시(없으면 색인)에서 받아 카드에 필요한 컬럼만 조회한다. 멤버 수는 memberCount를 사용한다.
+        StudySearchIndex.SearchResult result = studySearchCache.getResult(keyword, pageable,
+                () -> studySearchIndex.search(keyword, pageable.getSort(), pageable.getOffset(), pageable.getPageSize()));
+        List<StudyCard> content = studyRepository.findStudyCardsInOrder(result.getStudyIds());
+        return new PageImpl<>(content, pageable, result.getTotal());
+    }
+
+    public List<SearchFacet> getTagFacets() {
+        return studySearchCache.getTagFacets(() -> studyRepository.findTagFacets(FACET_SIZE));
+    }
+
+    public List<SearchFacet> getZoneFacets() {
+        return studySearchCache.getZoneFacets(() -> studyRepository.findZoneFacets(FACET_SIZE));
+    }
+}
@@ -1,5 +1,7 @@
 package io.lcalmsky.app.modules.study.application;
 
+import io.lcalmsky.app.infra.image.ImageService;
+import io.lcalmsky.app.infra.outbox.DomainEventPublisher;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.domain.entity.Zone;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
@@ -12,7 +14,6 @@ import io.lcalmsky.app.modules.tag.domain.entity.Tag;
 import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
 import net.bytebuddy.utility.RandomString;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,9 +24,14 @@ import org.springframework.transaction.annotation.Transactional;
 public class StudyService {
 
     private final StudyRepository studyRepository;
-    private final ApplicationEventPublisher eventPublisher; // 이벤트를 발생시키기 위해 빈을 주입
+    private final DomainEventPublisher eventPublisher; // 이벤트를 발생시키기 위해 빈을 주입, 커밋된 이후에 발행된다.
     // CRUD 작업을 위해 StudyRepository를 주입
     private final TagRepository tagRepository;
+    private final StudySearchIndex studySearchIndex; // 스터디 검색 색인, 변경 사항은 커밋된 이후에 반영된다.
+    private final StudySearchCache studySearchCache;
+    private final RecentStudyFeed recentStudyFeed; // 비로그인 첫 화면의 최근 스터디 목록
+    private final StudyRecommender studyRecommender; // 계정별 추천 스터디
+    private final ImageService imageService;
 
     public Study createNewStudy(StudyForm studyForm, Account account) {
         // StudyForm과 현재 로그인중인 Account 정보를 전달받아 Study를 생성.
@@ -80,11 +86,13 @@ public class StudyService {
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionForm) {
         // 스터디 소개 관련 파라미터를 전달받아 업데이트 한다.
         study.updateDescription(studyDescriptionForm);
-        eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디 소개를 수정했습니다."));
+        studyRecommender.update(study); // 추천 카드에 보여주는 짧은 소개를 갱신
+        eventPublisher.publish(new StudyUpdateEvent(study.getId(), "스터디 소개를 수정했습니다."));
     }
 
     public void updateStudyImage(Study study, String image) {
-        study.updateImage(image);
+        study.updateImage(imageService.save(image)); // 이미지는 디스크에 저장하고 조회 경로만 스터디에 저장
+        studyRecommender.update(study);
     }
 
     public void enableStudyBanner(Study study) {
@@ -97,41 +105,52 @@ public class StudyService {
 
     public void addTag(Study study, Tag tag) {
         study.addTag(tag);
+        reindex(study);
     }
 
     public void removeTag(Study study, Tag tag) {
         study.removeTag(tag);
+        reindex(study);
     }
 
     public void addZone(Study study, Zone zone) {
         // 중복된 Zone 추가를 방지
         if (!study.getZones().contains(zone)) {
             study.addZone(zone);
+            reindex(study);
         }
     }
 
     public void removeZone(Study study, Zone zone) {
         study.removeZone(zone);
+        reindex(study);
     }
 
     public void publish(Study study) { // 스터디를 공개
         study.publish();
-        eventPublisher.publishEvent(new StudyCreatedEvent(study));
+        reindex(study);
+        recentStudyFeed.refreshAfterCommit();
+        eventPublisher.publish(new StudyCreatedEvent(study.getId()));
     }
 
     public void close(Study study) { // 스터디를 종료
         study.close();
-        eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디를 종료했습니다."));
+        studySearchCache.invalidateAll();
+        studyRecommender.remove(study.getId());
+        recentStudyFeed.refreshAfterCommit();
+        eventPublisher.publish(new StudyUpdateEvent(study.getId(), "스터디를 종료했습니다."));
     }
 
     public void startRecruit(Study study) { // 팀원 모집을 시작
         study.startRecruit();
-        eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 시작합니다."));
+        studyRecommender.update(study); // 모집 중인 스터디는 추천 점수가 높아진다.
+        eventPublisher.publish(new StudyUpdateEvent(study.getId(), "팀원 모집을 시작합니다."));
     }
 
     public void stopRecruit(Study study) { // 팀원 모집을 중단
         study.stopRecruit();
-        eventPublisher.publishEvent(new StudyUpdateEvent(study, "팀원 모집을 종료했습니다."));
+        studyRecommender.update(study);
+        eventPublisher.publish(new StudyUpdateEvent(study.getId(), "팀원 모집을 종료했습니다."));
     }
 
     public boolean isValidPath(String newPath) {
@@ -145,6 +164,8 @@ public class StudyService {
 
     public void updateStudyPath(Study study, String newPath) { // 스터디 경로를 업데이트 해준다.
         study.updatePath(newPath);
+        studyRecommender.update(study); // 추천 카드의 링크를 갱신
+        recentStudyFeed.refreshAfterCommit(); // 첫 화면 카드의 링크를 갱신
     }
 
     public boolean isValidTitle(String newTitle) { // 스터디 이름의 유효성을 검사한다.
@@ -153,6 +174,7 @@ public class StudyService {
 
     public void updateStudyTitle(Study study, String newTitle) { // 스터디 이름을 업데이트 한다.
         study.updateTitle(newTitle);
+        reindex(study);
     }
 
     public void remove(Study study) { // 스터디를 삭제한다.
@@ -160,15 +182,35 @@ public class StudyService {
             throw new IllegalStateException("스터디를 삭제할 수 없습니다.");
         }
         studyRepository.delete(study);
+        studySearchIndex.remove(study.getId());
+        studySearchCache.invalidateAll();
+        studyRecommender.remove(study.getId());
+        recentStudyFeed.refreshAfterCommit();
     }
 
     public void addMember(Study study, Account account) {
         study.addMember(account);
-
+        reindexMemberCount(study); // 멤버 수 정렬을 위해 반영
     }
 
     public void removeMember(Study study, Account account) {
         study.removeMember(account);
+        reindexMemberCount(study);
+    }
+
+    private void reindex(Study study) {
+        // 색인을 먼저 갱신하도록 등록한 뒤 캐시를 비워야 커밋 이후 새로 채워지는 캐시가 갱신된 색인을 사용한다.
+        studySearchIndex.index(study);
+        studySearchCache.invalidateAll();
+        studyRecommender.update(study);
+    }
+
+    private void reindexMemberCount(Study study) {
+        // 멤버 수만 바뀌었으므로 캐시 전체를 비우지 않고 멤버 수로 정렬한 결과 중 이 스터디가 포함되는 검색어만 지운다.
+        Long studyId = study.getId();
+        studySearchIndex.index(study);
+        studySearchCache.evictMemberCountOrder(keyword -> studySearchIndex.matches(studyId, keyword));
+        studyRecommender.update(study);
     }
 
     public Study getStudyToEnroll(String path) {
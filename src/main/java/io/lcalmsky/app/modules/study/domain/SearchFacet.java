@@ -0,0 +1,12 @@
+package io.lcalmsky.app.modules.study.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchFacet {
+    // 검색 화면에 보여줄 관심 주제, 지역별 공개 스터디 수
+    private final String name;
+    private final long count;
+}
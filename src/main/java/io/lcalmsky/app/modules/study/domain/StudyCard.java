@@ -0,0 +1,44 @@
+package io.lcalmsky.app.modules.study.domain;
+
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class StudyCard {
+    // 스터디 목록 카드(fragments.html::study-list)에 필요한 값만 복사해 둔 읽기 전용 객체.
+    // 영속성 컨텍스트와 무관하므로 여러 요청이 공유해도 지연 로딩이 발생하지 않는다.
+    private final String path;
+    private final String title;
+    private final String shortDescription;
+    private final List<TagItem> tags;
+    private final List<ZoneItem> zones;
+    private final int memberCount;
+    private final LocalDateTime publishedDateTime;
+
+    public static StudyCard from(Study study) {
+        return new StudyCard(study.getPath(), study.getTitle(), study.getShortDescription(),
+                study.getTags().stream().map(tag -> new TagItem(tag.getTitle())).collect(Collectors.toUnmodifiableList()),
+                study.getZones().stream().map(zone -> new ZoneItem(zone.getId(), zone.getLocalNameOfCity()))
+                        .collect(Collectors.toUnmodifiableList()),
+                study.getMemberCount(), study.getPublishedDateTime());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TagItem {
+        private final String title;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ZoneItem {
+        private final Long id;
+        private final String localNameOfCity;
+    }
+}
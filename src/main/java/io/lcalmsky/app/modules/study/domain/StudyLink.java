@@ -0,0 +1,12 @@
+package io.lcalmsky.app.modules.study.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StudyLink {
+    // 관리중인, 참여중인 스터디 목록처럼 이름과 링크만 보여주는 곳에서 사용한다.
+    private final String path;
+    private final String title;
+}
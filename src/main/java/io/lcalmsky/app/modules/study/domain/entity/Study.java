@@ -11,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.LazyGroup;
 
 import javax.persistence.*;
 import java.net.URLEncoder;
@@ -19,7 +20,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
-import static javax.persistence.FetchType.EAGER;
+import static javax.persistence.FetchType.LAZY;
 
 @Entity
 @NamedEntityGraph(name = "Study.withAll", attributeNodes = {
@@ -48,6 +49,10 @@ import static javax.persistence.FetchType.EAGER;
         @NamedAttributeNode("zones")
 
 })
+@Table(indexes = {
+        @Index(name = "idx_study_published_date", columnList = "published, published_date_time"),
+        @Index(name = "idx_study_published_member_count", columnList = "published, member_count")
+}) // 검색 결과를 공개일, 멤버 수로 정렬해서 페이징할 때 사용
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Study {
@@ -70,12 +75,13 @@ public class Study {
     private String shortDescription;
 
     @Lob
-    @Basic(fetch = EAGER)
+    @Basic(fetch = LAZY)
+    @LazyGroup("content")
     private String fullDescription; // 긴 설명을 255자를 넘어갈 수 있으니 @Lob을 사용,
+    // 목록, 검색, 알림, 권한 확인에서는 사용하지 않으므로 바이트코드 향상(build.gradle의 hibernate.enhance)으로 지연 로딩한다.
+    // 상세 화면이나 설정 화면에서 처음 접근할 때 content 그룹의 컬럼만 따로 조회한다.
 
-    @Lob
-    @Basic(fetch = EAGER)
-    private String image; // 프로필 사진 때와 마찬가지로 @Lob으로 설정합니다.
+    private String image; // 이미지 내용은 ImageStore에 저장하고 조회 경로(/image/{hash}.{ext})만 저장한다.
 
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
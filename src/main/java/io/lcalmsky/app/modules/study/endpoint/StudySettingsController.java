@@ -85,8 +85,12 @@ public class StudySettingsController {
     @PostMapping("/banner")
     public String updateBanner(@CurrentUser Account account, @PathVariable String path, String image, RedirectAttributes attributes) {
         Study study = studyService.getStudyToUpdate(account, path);
-        studyService.updateStudyImage(study, image);
-        attributes.addFlashAttribute("message", "스터디 이미지를 수정하였습니다.");
+        try {
+            studyService.updateStudyImage(study, image);
+            attributes.addFlashAttribute("message", "스터디 이미지를 수정하였습니다.");
+        } catch (IllegalArgumentException e) { // 이미지 형식이 잘못되었거나 너무 큰 경우
+            attributes.addFlashAttribute("message", e.getMessage());
+        }
         return "redirect:/study/" + encode(path) + "/settings/banner";
     }
 
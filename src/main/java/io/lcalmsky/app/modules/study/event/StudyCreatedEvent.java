@@ -1,14 +1,19 @@
 package io.lcalmsky.app.modules.study.event;
 
-import io.lcalmsky.app.modules.study.domain.entity.Study;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.lcalmsky.app.infra.outbox.DomainEventExecutor;
 import lombok.Getter;
 
 @Getter
+@DomainEventExecutor("studyFanOutExecutor")
 public class StudyCreatedEvent {
+    // outbox에 JSON으로 저장되므로 엔티티 대신 id만 담는다.
 
-    private final Study study;
+    private final Long studyId;
 
-    public StudyCreatedEvent(Study study) {
-        this.study = study;
+    @JsonCreator
+    public StudyCreatedEvent(@JsonProperty("studyId") Long studyId) {
+        this.studyId = studyId;
     }
 }
@@ -0,0 +1,187 @@
+package io.lcalmsky.app.modules.study.event;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.infra.email.EmailMessage;
+import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
+import io.lcalmsky.app.modules.account.application.AccountInterestIndex;
+import io.lcalmsky.app.modules.account.domain.NotificationRecipient;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class StudyCreatedFanOut {
+    // 스터디 공개 알림을 대상 계정 전체가 아닌 페이지 단위로 나눠서 처리한다.
+    // 1. 대상 계정 id를 관심 주제/지역 색인에서 찾거나, 색인이 준비되지 않았으면 keyset 방식으로 페이지 단위 조회
+    // 2. 페이지마다 별도 트랜잭션으로 알림과 메일 발송 대기열(EmailOutbox)을 JDBC batch insert 후 영속성 컨텍스트를 비움
+    // 3. 실제 메일 전송은 EmailDispatcher가 대기열에서 모아서 처리하므로, 서버가 종료돼도 커밋된 페이지의 메일은 남는다.
+    // 리스너가 실패하면 이벤트가 다시 발행되므로, 이미 이 스터디의 공개 알림을 받은 계정은 건너뛰고 남은 계정부터 이어서 처리한다.
+
+    private final AccountRepository accountRepository;
+    private final AccountInterestIndex accountInterestIndex;
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final EmailService emailService;
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final Counter recipientCounter;
+    private final Counter mailCounter;
+
+    public StudyCreatedFanOut(AccountRepository accountRepository, AccountInterestIndex accountInterestIndex, NotificationRepository notificationRepository,
+                              UnreadNotificationCounter unreadNotificationCounter, EmailService emailService, SimpleLinkMailRenderer simpleLinkMailRenderer, AppProperties appProperties,
+                              TransactionTemplate transactionTemplate, EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.accountInterestIndex = accountInterestIndex;
+        this.notificationRepository = notificationRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.emailService = emailService;
+        this.simpleLinkMailRenderer = simpleLinkMailRenderer;
+        this.appProperties = appProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+        this.recipientCounter = meterRegistry.counter("study.fanout.recipients");
+        this.mailCounter = meterRegistry.counter("study.fanout.mails");
+    }
+
+    public void fanOut(Study study) {
+        if (study.getTags().isEmpty() || study.getZones().isEmpty()) {
+            return; // 관심사나 지역이 없으면 조건에 맞는 계정도 없다.
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SimpleLinkMailRenderer.Prepared mailTemplate = simpleLinkMailRenderer.prepare(study.getTitle(), "새로운 스터디가 오픈하였습니다.");
+        // 스터디 정보는 모든 수신자에게 같으므로 템플릿은 fan-out마다 한 번만 렌더링한다.
+        long total = accountInterestIndex.isReady()
+                ? fanOutByIndex(study, mailTemplate)
+                : fanOutByQuery(study, mailTemplate);
+        sample.stop(meterRegistry.timer("study.fanout.duration"));
+        log.info("study {} fan-out finished: {} recipients", study.getId(), total);
+    }
+
+    private long fanOutByIndex(Study study, SimpleLinkMailRenderer.Prepared mailTemplate) {
+        // 관심 주제/지역 색인에서 대상 계정 id를 한 번에 찾고, 페이지 단위로 기본키 조회해 알림 설정을 확인한다.
+        Set<Long> tagIds = study.getTags().stream().map(Tag::getId).collect(Collectors.toSet());
+        Set<Long> zoneIds = study.getZones().stream().map(Zone::getId).collect(Collectors.toSet());
+        long[] accountIds = stageTimer("index").record(() -> accountInterestIndex.findAccountIds(tagIds, zoneIds));
+        int pageSize = appProperties.getFanOut().getPageSize();
+        long total = 0;
+        for (int from = 0; from < accountIds.length; from += pageSize) {
+            List<Long> page = Arrays.stream(accountIds, from, Math.min(from + pageSize, accountIds.length))
+                    .boxed()
+                    .collect(Collectors.toList());
+            List<NotificationRecipient> recipients = stageTimer("recipients").record(() ->
+                    accountRepository.findStudyCreatedRecipients(page));
+            total += notify(study, mailTemplate, recipients);
+        }
+        return total;
+    }
+
+    private long fanOutByQuery(Study study, SimpleLinkMailRenderer.Prepared mailTemplate) {
+        // 색인이 아직 준비되지 않았으면 대상 계정을 keyset 방식으로 페이지 단위 조회한다.
+        int pageSize = appProperties.getFanOut().getPageSize();
+        long total = 0;
+        Long lastId = null;
+        while (true) {
+            Long cursor = lastId;
+            List<NotificationRecipient> recipients = stageTimer("recipients").record(() ->
+                    accountRepository.findStudyCreatedRecipients(study.getTags(), study.getZones(), cursor, pageSize));
+            if (recipients == null || recipients.isEmpty()) {
+                break;
+            }
+            total += notify(study, mailTemplate, recipients);
+            if (recipients.size() < pageSize) {
+                break;
+            }
+            lastId = recipients.get(recipients.size() - 1).getId();
+        }
+        return total;
+    }
+
+    private int notify(Study study, SimpleLinkMailRenderer.Prepared mailTemplate, List<NotificationRecipient> page) {
+        if (page.isEmpty()) {
+            return 0;
+        }
+        List<NotificationRecipient> recipients = skipNotified(study, page);
+        stageTimer("notifications").record(() -> save(study, mailTemplate, recipients));
+        recipientCounter.increment(recipients.size());
+        return recipients.size();
+    }
+
+    private List<NotificationRecipient> skipNotified(Study study, List<NotificationRecipient> recipients) {
+        // 알림과 메일은 같은 트랜잭션에서 저장하므로 알림이 있는 계정은 알림과 메일 모두 건너뛴다.
+        // 메일만 받는 계정은 남은 기록이 없어 다시 보낼 수 있다.
+        Set<Long> notified = notificationRepository.findNotifiedAccountIds(
+                recipients.stream().map(NotificationRecipient::getId).collect(Collectors.toList()),
+                NotificationType.STUDY_CREATED, "/study/" + study.getEncodedPath());
+        if (notified.isEmpty()) {
+            return recipients;
+        }
+        return recipients.stream()
+                .filter(recipient -> !notified.contains(recipient.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private void save(Study study, SimpleLinkMailRenderer.Prepared mailTemplate, List<NotificationRecipient> recipients) {
+        List<Long> accountIds = recipients.stream()
+                .filter(NotificationRecipient::isByWeb)
+                .map(NotificationRecipient::getId)
+                .collect(Collectors.toList());
+        List<EmailMessage> emailMessages = recipients.stream()
+                .filter(NotificationRecipient::isByEmail)
+                .map(recipient -> emailMessage(study, mailTemplate, recipient))
+                .collect(Collectors.toList());
+        if (accountIds.isEmpty() && emailMessages.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> notifications = accountIds.stream()
+                    .map(accountId -> Notification.from(study.getTitle(), "/study/" + study.getEncodedPath(), false,
+                            now, study.getShortDescription(), accountRepository.getById(accountId),
+                            NotificationType.STUDY_CREATED))
+                    .collect(Collectors.toList());
+            // getById는 프록시만 생성하므로 계정을 다시 조회하지 않는다.
+            notificationRepository.saveAll(notifications);
+            emailService.sendEmails(emailMessages);
+            entityManager.flush(); // hibernate.jdbc.batch_size 단위로 insert가 묶여서 실행된다.
+            entityManager.clear(); // 페이지마다 영속성 컨텍스트를 비워 엔티티가 쌓이지 않도록 한다.
+        });
+        accountIds.forEach(unreadNotificationCounter::invalidate); // 커밋된 이후에 읽지 않은 알림 수를 다시 count 하도록 한다.
+        mailCounter.increment(emailMessages.size());
+    }
+
+    private EmailMessage emailMessage(Study study, SimpleLinkMailRenderer.Prepared mailTemplate, NotificationRecipient recipient) {
+        return EmailMessage.builder()
+                .to(recipient.getEmail())
+                .subject("[FRITZ]" + study.getTitle() + "스터디가 오픈하였습니다.")
+                .message(mailTemplate.render(recipient.getNickname(), "/study/" + study.getEncodedPath()))
+                .build();
+    }
+
+    private Timer stageTimer(String stage) {
+        return meterRegistry.timer("study.fanout.stage", "stage", stage);
+    }
+}
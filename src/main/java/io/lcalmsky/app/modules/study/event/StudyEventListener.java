@@ -1,11 +1,10 @@
 package io.lcalmsky.app.modules.study.event;
 
-import io.lcalmsky.app.infra.config.AppProperties;
 import io.lcalmsky.app.infra.email.EmailMessage;
 import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
-import io.lcalmsky.app.modules.account.infra.predicates.AccountPredicates;
-import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
 import io.lcalmsky.app.modules.notification.domain.entity.Notification;
 import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
 import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
@@ -14,11 +13,9 @@ import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -26,50 +23,46 @@ import java.util.Set;
 
 
 @Slf4j
-@Async
+// DomainEventRelay가 이벤트에 지정된 studyFanOutExecutor에서 실행하고, 끝난 뒤에 outbox에 발행 완료를 기록한다.
 @Transactional
 @Component
 @RequiredArgsConstructor
 public class StudyEventListener {
 
     private final StudyRepository studyRepository;
-    private final AccountRepository accountRepository;
+    private final StudyCreatedFanOut studyCreatedFanOut;
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
     private final EmailService emailService;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final SimpleLinkMailRenderer simpleLinkMailRenderer;
 
     @EventListener // 이 어노테이션을 이용해 이벤트 리스터를 명시
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    // 대상 계정이 많을 수 있으므로 하나의 긴 트랜잭션으로 묶지 않고 StudyCreatedFanOut이 페이지마다 트랜잭션을 나눠서 처리한다.
     public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent) {
         //EventPublisher 를 통해 이벤트가 발생될 때 전달한 파라미터가 StudyCreatedEvent 일 때 해당 메서드가 호출된다.
-        Study study = studyRepository.findStudyWithTagsAndZonesById(studyCreatedEvent.getStudy().getId());
-        // 관심사와 지역 정보를 추가로 조회
-
-        Iterable<Account> accounts = accountRepository.findAll(AccountPredicates.findByTagsAndZones(study.getTags(), study.getZones()));
-        // 관심사와 지역정보에 해당하는 모든 계정을 찾는다.
-
-        for (Account account : accounts) {
-            // 계정을 순차적으로 탐색하면서 메일 알림 설정을 한 계정에는 메일을 전송하고, 웹 알림 설정을 한 계정은 웹 알림을 저장
-            Account.NotificationSetting notificationSetting = account.getNotificationSetting();
-            if (notificationSetting.isStudyCreatedByEmail()) {
-                sendEmail(study, account, "새로운 스터디가 오픈하였습니다.", "[FRITZ]" +
-                        study.getTitle() + "스터디가 오픈하였습니다.");
-            }
-            if (notificationSetting.isStudyCreatedByWeb()) {
-                saveNotification(study, account, NotificationType.STUDY_CREATED, study.getShortDescription());
-            }
+        Study study = studyRepository.findStudyWithTagsAndZonesById(studyCreatedEvent.getStudyId());
+        if (study == null) {
+            return; // 이벤트는 커밋 이후에 발행되므로 그 사이에 스터디가 삭제되었을 수 있다.
         }
+        // 관심사와 지역 정보를 추가로 조회
+        studyCreatedFanOut.fanOut(study);
+        // 관심사와 지역정보에 해당하는 계정을 페이지 단위로 조회하면서 메일 알림 설정을 한 계정에는 메일을 전송하고, 웹 알림 설정을 한 계정은 웹 알림을 저장
     }
 
     @EventListener
     public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent) {
-        Study study = studyRepository.findStudyWithManagersAndMembersById(studyUpdateEvent.getStudy().getId());
+        Study study = studyRepository.findStudyWithManagersAndMembersById(studyUpdateEvent.getStudyId());
+        if (study == null) {
+            return;
+        }
         Set<Account> accounts = new HashSet<>();
         accounts.addAll(study.getManagers());
         accounts.addAll(study.getMembers());
+        SimpleLinkMailRenderer.Prepared mailTemplate = simpleLinkMailRenderer.prepare(study.getTitle(), studyUpdateEvent.getMessage());
         accounts.forEach(account -> {
             if (account.getNotificationSetting().isStudyUpdatedByEmail()) {
-                sendEmail(study, account, studyUpdateEvent.getMessage(), "[FRITZ]" + study.getTitle() + " 스터디에 새소식이 있습니다.");
+                sendEmail(study, account, mailTemplate, "[FRITZ]" + study.getTitle() + " 스터디에 새소식이 있습니다.");
             }
             if (account.getNotificationSetting().isStudyUpdatedByWeb()) {
                 saveNotification(study, account, NotificationType.STUDY_UPDATED, studyUpdateEvent.getMessage());
@@ -77,14 +70,8 @@ public class StudyEventListener {
         });
     }
 
-    private void sendEmail(Study study, Account account, String contextMessage, String emailSubject) {
-        Context context = new Context();
-        context.setVariable("link", "/study/" + study.getEncodedPath());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", contextMessage);
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+    private void sendEmail(Study study, Account account, SimpleLinkMailRenderer.Prepared mailTemplate, String emailSubject) {
+        String message = mailTemplate.render(account.getNickname(), "/study/" + study.getEncodedPath());
         emailService.sendEmail(EmailMessage.builder()
                 .to(account.getEmail())
                 .subject(emailSubject)
@@ -95,5 +82,6 @@ public class StudyEventListener {
     private void saveNotification(Study study, Account account, NotificationType notificationType, String message) {
         notificationRepository.save(Notification.from(study.getTitle(), "/study/" + study.getEncodedPath(),
                 false, LocalDateTime.now(), message, account, notificationType));
+        unreadNotificationCounter.invalidate(account.getId());
     }
 }
@@ -1,17 +1,24 @@
 package io.lcalmsky.app.modules.study.event;
 
-import io.lcalmsky.app.modules.study.domain.entity.Study;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.lcalmsky.app.infra.outbox.DomainEventExecutor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
 @Getter
+@DomainEventExecutor("studyFanOutExecutor")
 public class StudyUpdateEvent {
-    private final Study study;
+    private final Long studyId;
     private final String message;
+
+    @JsonCreator
+    public StudyUpdateEvent(@JsonProperty("studyId") Long studyId, @JsonProperty("message") String message) {
+        this.studyId = studyId;
+        this.message = message;
+    }
 }
 
 // 스터디 수정 시 발생시킬 이벤트 클래스를 생성
 
-//study와 message를 생성자로 받을 수 있도록 @RequiredArgsConstructor를 사용하였고,
-//이벤트 처리시 사용할 수 있게 @Getter를 추가하였다.
\ No newline at end of file
+//studyId와 message를 생성자로 받을 수 있도록 생성자를 추가하였고, outbox에서 JSON으로 복원할 수 있도록 @JsonCreator를 붙였다.
+//이벤트 처리시 사용할 수 있게 @Getter를 추가하였다.
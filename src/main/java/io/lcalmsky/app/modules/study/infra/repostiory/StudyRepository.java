@@ -1,16 +1,16 @@
 package io.lcalmsky.app.modules.study.infra.repostiory;
 
-import io.lcalmsky.app.modules.account.domain.entity.Account;
-import io.lcalmsky.app.modules.account.domain.entity.Zone;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
-import io.lcalmsky.app.modules.tag.domain.entity.Tag;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.FETCH;
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
@@ -43,12 +43,20 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
     Study findStudyWithManagersAndMembersById(Long id);
 
 
+    @Query("select s.id from Study s where s.published = true and s.id > :lastId order by s.id")
+    List<Long> findPublishedIdsAfter(Long lastId, Pageable pageable);
+
     @EntityGraph(attributePaths = {"tags", "zones"})
-    List<Study> findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(boolean published, boolean closed);
+    List<Study> findStudiesWithTagsAndZonesByIdIn(Collection<Long> ids);
 
-    List<Study> findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean closed);
+    @Query("select s.id from Study s where s.image like 'data:%' and s.id > :lastId order by s.id")
+    List<Long> findIdsWithInlineImageAfter(Long lastId, Pageable pageable);
 
-    List<Study> findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(Account account, boolean closed);
+    @Query("select s.image from Study s where s.id = :id")
+    String findImageById(Long id);
 
-    List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
+    @Transactional
+    @Modifying
+    @Query("update Study s set s.image = :image where s.id = :id")
+    int updateImage(Long id, String image);
 }
@@ -1,18 +1,32 @@
 package io.lcalmsky.app.modules.study.infra.repostiory;
 
-import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.study.domain.SearchFacet;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.StudyLink;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
-import io.lcalmsky.app.modules.tag.domain.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
 
 @Transactional(readOnly = true)
 public interface StudyRepositoryExtension {
     Page<Study> findByKeyword(String keyword, Pageable pageable);
 
-    List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
+    List<Study> findStudiesWithTagsAndZonesInOrder(List<Long> ids);
+
+    List<StudyCard> findStudyCardsInOrder(List<Long> ids);
+
+    List<StudyCard> findRecentStudyCards(int limit);
+
+    List<StudyLink> findManagingStudyLinks(Long accountId, int limit);
+
+    List<StudyLink> findJoinedStudyLinks(Long accountId, int limit);
+
+    List<SearchFacet> findTagFacets(int limit);
+
+    List<SearchFacet> findZoneFacets(int limit);
+
+    List<Study> findByAccountInterests(Long accountId);
 }
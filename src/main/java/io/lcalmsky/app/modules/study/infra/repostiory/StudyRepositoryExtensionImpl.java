@@ -1,21 +1,28 @@
 package io.lcalmsky.app.modules.study.infra.repostiory;
 
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
 import io.lcalmsky.app.modules.account.domain.entity.QAccount;
 import io.lcalmsky.app.modules.account.domain.entity.QZone;
-import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.study.domain.SearchFacet;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.StudyLink;
 import io.lcalmsky.app.modules.study.domain.entity.QStudy;
 import io.lcalmsky.app.modules.study.domain.entity.Study;
 import io.lcalmsky.app.modules.tag.domain.entity.QTag;
-import io.lcalmsky.app.modules.tag.domain.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class StudyRepositoryExtensionImpl extends QuerydslRepositorySupport implements StudyRepositoryExtension {
 
@@ -25,33 +32,187 @@ public class StudyRepositoryExtensionImpl extends QuerydslRepositorySupport impl
 
     @Override
     public Page<Study> findByKeyword(String keyword, Pageable pageable) {
+        Page<Long> ids = findStudyIdsByKeyword(keyword, pageable);
+        return new PageImpl<>(findStudiesWithTagsAndZonesInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    private Page<Long> findStudyIdsByKeyword(String keyword, Pageable pageable) {
+        // 1. 컬렉션을 fetch join 하지 않고 조건에 맞는 스터디 id만 페이지 단위로 조회한다.
+        //    태그, 지역 조건은 exists 서브쿼리(any())로 처리하므로 distinct가 필요 없고 DB에서 페이징된다.
         QStudy study = QStudy.study;
-        JPQLQuery<Study> query = from(study)
-                .where(study.published.isTrue()
-                        .and(study.title.containsIgnoreCase(keyword))
+        BooleanExpression condition = study.published.isTrue()
+                .and(study.title.containsIgnoreCase(keyword)
                         .or(study.tags.any().title.containsIgnoreCase(keyword))
-                        .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)))
+                        .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)));
+        JPQLQuery<Long> idQuery = from(study).select(study.id).where(condition);
+        getQuerydsl().applySorting(pageable.getSort(), idQuery);
+        List<Long> ids = idQuery.orderBy(study.id.asc()) // 정렬 값이 같을 때도 페이지 간 순서가 바뀌지 않도록 한다.
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+        long total = ids.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !ids.isEmpty())
+                ? pageable.getOffset() + ids.size()
+                : countByKeyword(condition); // 마지막 페이지까지 조회된 경우 count 쿼리를 생략한다.
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    @Override
+    public List<Study> findStudiesWithTagsAndZonesInOrder(List<Long> ids) {
+        // 2. 해당 페이지의 스터디만 태그, 지역과 함께 조회하고 1단계의 순서대로 정렬한다. 멤버 수는 memberCount 컬럼을 사용한다.
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        QStudy study = QStudy.study;
+        Map<Long, Study> studies = from(study)
                 .leftJoin(study.tags, QTag.tag).fetchJoin()
                 .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .leftJoin(study.members, QAccount.account).fetchJoin()
-                .distinct();
-        JPQLQuery<Study> pageableQuery = getQuerydsl().applyPagination(pageable, query);
-        QueryResults<Study> fetchResults = pageableQuery.fetchResults();
-        return new PageImpl<>(fetchResults.getResults(), pageable, fetchResults.getTotal());
-    }
-    // getQuerydsl() 을 이용해 QuerydslRepositorySupport가 제공하는 기능을 사용할 수 있는데 페이징을 적용하기 위해 applyPagination을 호출
-    //그리고 fetchResults를 이용해 조회한 결과를 얻을 수 있다.
+                .where(study.id.in(ids))
+                .distinct()
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Study::getId, Function.identity()));
+        return ids.stream()
+                .map(studies::get)
+                .filter(Objects::nonNull) // 조회 사이에 삭제된 스터디는 제외
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StudyCard> findStudyCardsInOrder(List<Long> ids) {
+        // 목록 카드에 필요한 컬럼만 스터디, 태그, 지역 순으로 세 번 조회해 조립한다.
+        // 엔티티를 만들지 않으므로 영속성 컨텍스트에 올라가지 않고 변경 감지용 스냅샷도 생기지 않는다.
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        QStudy study = QStudy.study;
+        QTag tag = QTag.tag;
+        QZone zone = QZone.zone;
+        Map<Long, List<StudyCard.TagItem>> tags = from(study)
+                .join(study.tags, tag)
+                .where(study.id.in(ids))
+                .select(study.id, tag.title)
+                .fetch()
+                .stream()
+                .collect(Collectors.groupingBy(tuple -> tuple.get(study.id),
+                        Collectors.mapping(tuple -> new StudyCard.TagItem(tuple.get(tag.title)), Collectors.toUnmodifiableList())));
+        Map<Long, List<StudyCard.ZoneItem>> zones = from(study)
+                .join(study.zones, zone)
+                .where(study.id.in(ids))
+                .select(study.id, zone.id, zone.localNameOfCity)
+                .fetch()
+                .stream()
+                .collect(Collectors.groupingBy(tuple -> tuple.get(study.id),
+                        Collectors.mapping(tuple -> new StudyCard.ZoneItem(tuple.get(zone.id), tuple.get(zone.localNameOfCity)),
+                                Collectors.toUnmodifiableList())));
+        Map<Long, StudyCard> cards = from(study)
+                .where(study.id.in(ids))
+                .select(study.id, study.path, study.title, study.shortDescription, study.memberCount, study.publishedDateTime)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(tuple -> tuple.get(study.id), tuple -> toStudyCard(tuple, tags, zones)));
+        return ids.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull) // 조회 사이에 삭제된 스터디는 제외
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private StudyCard toStudyCard(Tuple tuple, Map<Long, List<StudyCard.TagItem>> tags, Map<Long, List<StudyCard.ZoneItem>> zones) {
+        QStudy study = QStudy.study;
+        Long id = tuple.get(study.id);
+        Integer memberCount = tuple.get(study.memberCount);
+        return new StudyCard(tuple.get(study.path), tuple.get(study.title), tuple.get(study.shortDescription),
+                tags.getOrDefault(id, List.of()), zones.getOrDefault(id, List.of()),
+                memberCount == null ? 0 : memberCount, tuple.get(study.publishedDateTime));
+    }
+
+    @Override
+    public List<StudyCard> findRecentStudyCards(int limit) {
+        // 컬렉션을 fetch join 한 채로 limit을 걸면 메모리에서 잘라내므로 id를 먼저 조회한다.
+        QStudy study = QStudy.study;
+        List<Long> ids = from(study)
+                .where(study.published.isTrue().and(study.closed.isFalse()))
+                .orderBy(study.publishedDateTime.desc())
+                .select(study.id)
+                .limit(limit)
+                .fetch();
+        return findStudyCardsInOrder(ids);
+    }
+
+    @Override
+    public List<StudyLink> findManagingStudyLinks(Long accountId, int limit) {
+        QStudy study = QStudy.study;
+        return findStudyLinks(study.managers.any().id.eq(accountId), limit);
+    }
+
+    @Override
+    public List<StudyLink> findJoinedStudyLinks(Long accountId, int limit) {
+        QStudy study = QStudy.study;
+        return findStudyLinks(study.members.any().id.eq(accountId), limit);
+    }
+
+    private List<StudyLink> findStudyLinks(BooleanExpression condition, int limit) {
+        QStudy study = QStudy.study;
+        return from(study)
+                .where(condition.and(study.closed.isFalse()))
+                .orderBy(study.publishedDateTime.desc())
+                .select(Projections.constructor(StudyLink.class, study.path, study.title))
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<SearchFacet> findTagFacets(int limit) {
+        QStudy study = QStudy.study;
+        QTag tag = QTag.tag;
+        return from(study)
+                .join(study.tags, tag)
+                .where(study.published.isTrue())
+                .groupBy(tag.title)
+                .orderBy(study.count().desc(), tag.title.asc())
+                .select(Projections.constructor(SearchFacet.class, tag.title, study.count()))
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<SearchFacet> findZoneFacets(int limit) {
+        QStudy study = QStudy.study;
+        QZone zone = QZone.zone;
+        return from(study)
+                .join(study.zones, zone)
+                .where(study.published.isTrue())
+                .groupBy(zone.localNameOfCity)
+                .orderBy(study.count().desc(), zone.localNameOfCity.asc())
+                .select(Projections.constructor(SearchFacet.class, zone.localNameOfCity, study.count()))
+                .limit(limit)
+                .fetch();
+    }
+
+    private long countByKeyword(BooleanExpression condition) {
+        QStudy study = QStudy.study;
+        return from(study).select(study.id).where(condition).fetchCount();
+    }
+    // getQuerydsl() 을 이용해 QuerydslRepositorySupport가 제공하는 기능을 사용할 수 있는데 정렬을 적용하기 위해 applySorting을 호출
+    // 컬렉션을 fetch join 한 채로 페이징하면 Hibernate가 모든 결과를 메모리에 올린 뒤 잘라내므로 id 조회와 데이터 조회를 나눴다.
     //반환해야 할 타입이 Page 이므로 구현체인 PageImpl을 이용해 반환한다.
     //결과 데이터, pageable, 전체 데이터 수를 생성자로 전달해주어야 한다.
     // 마지막으로 MainController 에서 view로 전달해주는 이름이 바뀌었기에 serach.html을 수정해야 한다.
 
     @Override
-    public List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones) {
+    public List<Study> findByAccountInterests(Long accountId) {
+        // 계정의 관심 주제, 활동 지역을 서브쿼리로 비교하므로 계정 정보를 먼저 조회하지 않아도 된다.
         QStudy study = QStudy.study;
+        QAccount account = QAccount.account;
+        QTag accountTag = new QTag("accountTag");
+        QZone accountZone = new QZone("accountZone");
         JPQLQuery<Study> query = from(study).where(study.published.isTrue()
                         .and(study.closed.isFalse())
-                        .and(study.tags.any().in(tags))
-                        .and(study.zones.any().in(zones)))
+                        .and(study.tags.any().id.in(JPAExpressions.select(accountTag.id)
+                                .from(account).join(account.tags, accountTag)
+                                .where(account.id.eq(accountId))))
+                        .and(study.zones.any().id.in(JPAExpressions.select(accountZone.id)
+                                .from(account).join(account.zones, accountZone)
+                                .where(account.id.eq(accountId)))))
                 .leftJoin(study.tags, QTag.tag).fetchJoin()
                 .leftJoin(study.zones, QZone.zone).fetchJoin()
                 .orderBy(study.publishedDateTime.desc())
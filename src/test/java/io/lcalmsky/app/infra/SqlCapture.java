@@ -0,0 +1,41 @@
+package io.lcalmsky.app.infra;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class SqlCapture implements StatementInspector {
+    // 테스트에서 실행된 SQL을 확인하기 위한 StatementInspector
+    // spring.jpa.properties.hibernate.session_factory.statement_inspector=io.lcalmsky.app.infra.SqlCapture 로 등록한다.
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.lcalmsky.app.infra.SqlCapture";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static List<String> selects() {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("select"))
+                .collect(Collectors.toList());
+    }
+
+    public static int selectedColumns(String sql) {
+        // Hibernate는 조회하는 값마다 별칭(as col_0_0_, as id1_0_ 등)을 붙이고 테이블 별칭에는 as를 쓰지 않으므로 별칭 수로 센다.
+        return sql.toLowerCase().split(" as ", -1).length - 1;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,62 @@
+package io.lcalmsky.app.infra.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.executors.enrollment.core-size=1",
+        "app.executors.enrollment.max-size=1",
+        "app.executors.enrollment.queue-capacity=0",
+        "app.executors.enrollment.rejection=caller-runs"
+})
+class AsyncConfigTest {
+
+    @Autowired @Qualifier("enrollmentExecutor") Executor enrollmentExecutor;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("CALLER_RUNS: 거절된 작업은 등록한 스레드에서 실행되지만 그 스레드의 트랜잭션에는 참여하지 않음")
+    void callerRunsOutsideTransaction() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        enrollmentExecutor.execute(() -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS)); // 하나뿐인 스레드가 사용 중이고 대기열이 없다.
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        AtomicBoolean ranInTransaction = new AtomicBoolean(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                enrollmentExecutor.execute(() -> {
+                    ranOn.set(Thread.currentThread());
+                    ranInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+                });
+                // 작업이 끝난 뒤에는 발행한 트랜잭션이 다시 이어진다.
+                assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            });
+        } finally {
+            release.countDown();
+        }
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertFalse(ranInTransaction.get());
+    }
+}
@@ -0,0 +1,92 @@
+package io.lcalmsky.app.infra.email;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailDispatcherTest {
+
+    EmailOutboxRepository emailOutboxRepository;
+    EmailSender emailSender;
+    SimpleMeterRegistry meterRegistry;
+    EmailDispatcher emailDispatcher;
+
+    @BeforeEach
+    void beforeEach() {
+        emailOutboxRepository = mock(EmailOutboxRepository.class);
+        emailSender = mock(EmailSender.class);
+        meterRegistry = new SimpleMeterRegistry();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        emailDispatcher = new EmailDispatcher(emailOutboxRepository, emailSender, transactionTemplate,
+                new AppProperties(), Runnable::run, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("조회한 메일은 다음 시도 시각을 미뤄 다른 서버가 다시 가져가지 않음")
+    void claim() {
+        EmailOutbox emailOutbox = outbox("a@email.com");
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailOutbox.Status.PENDING), any(), any()))
+                .thenReturn(List.of(emailOutbox));
+
+        assertEquals(List.of(emailOutbox), emailDispatcher.claim(10));
+        assertTrue(emailOutbox.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(9)));
+        assertEquals(EmailOutbox.Status.PENDING, emailOutbox.getStatus());
+    }
+
+    @Test
+    @DisplayName("전송에 성공한 메일은 SENT, 실패한 메일은 간격을 두고 다시 시도")
+    void dispatch() {
+        EmailOutbox sent = outbox("a@email.com");
+        EmailOutbox failed = outbox("b@email.com");
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailOutbox.Status.PENDING), any(), any()))
+                .thenReturn(List.of(sent, failed));
+        when(emailSender.send(anyList())).thenReturn(Map.of(1, new IllegalStateException("smtp unavailable")));
+
+        emailDispatcher.dispatch();
+        assertEquals(EmailOutbox.Status.SENT, sent.getStatus());
+        assertEquals(EmailOutbox.Status.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(emailOutboxRepository).saveAll(List.of(sent, failed));
+        assertEquals(1, meterRegistry.counter("mail.sent").count());
+        assertEquals(1, meterRegistry.counter("mail.failed").count());
+    }
+
+    @Test
+    @DisplayName("지표를 수집할 때마다 대기 중인 메일 수를 count 하지 않음")
+    void pendingGauge() {
+        when(emailOutboxRepository.countByStatus(EmailOutbox.Status.PENDING)).thenReturn(3L);
+
+        assertEquals(3, meterRegistry.get("mail.outbox.pending").gauge().value());
+        assertEquals(3, meterRegistry.get("mail.outbox.pending").gauge().value());
+        verify(emailOutboxRepository, times(1)).countByStatus(EmailOutbox.Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("보관 기간(app.mail.retention)이 지난 전송 완료 메일을 삭제")
+    void purge() {
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        emailDispatcher.purge();
+        verify(emailOutboxRepository).deleteSentBefore(before.capture());
+        LocalDateTime expected = LocalDateTime.now().minusDays(7);
+        assertTrue(Duration.between(before.getValue(), expected).abs().getSeconds() < 5, before.getValue().toString());
+    }
+
+    private EmailOutbox outbox(String to) {
+        return EmailOutbox.from(EmailMessage.builder().to(to).subject("subject").message("message").build());
+    }
+}
@@ -0,0 +1,38 @@
+package io.lcalmsky.app.infra.email;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SimpleLinkMailRendererTest {
+
+    @Autowired SimpleLinkMailRenderer simpleLinkMailRenderer;
+    @Autowired TemplateEngine templateEngine;
+    @Autowired AppProperties appProperties;
+
+    @Test
+    @DisplayName("미리 렌더링한 템플릿에 값을 치환한 결과가 Thymeleaf로 직접 렌더링한 결과와 동일")
+    void renderSameAsTemplateEngine() {
+        String nickname = "<nick&name>";
+        String link = "/check-email-token?token=abc&email=test@example.com";
+        String linkName = "이메일 인증하기";
+        String message = "FRITZ 가입 인증을 위해 링크를 클릭하세요.";
+
+        Context context = new Context();
+        context.setVariable("link", link);
+        context.setVariable("nickname", nickname);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost());
+        String expected = templateEngine.process("mail/simple-link", context);
+
+        assertEquals(expected, simpleLinkMailRenderer.render(nickname, link, linkName, message));
+    }
+}
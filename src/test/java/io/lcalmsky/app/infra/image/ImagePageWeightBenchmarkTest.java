@@ -0,0 +1,131 @@
+package io.lcalmsky.app.infra.image;
+
+import io.lcalmsky.app.modules.account.WithAccount;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.endpoint.controller.form.Profile;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.application.StudyService;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@Slf4j
+@org.junit.jupiter.api.Tag("load")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:image-page-weight-benchmark")
+class ImagePageWeightBenchmarkTest {
+    // 멤버 20명이 모두 프로필 이미지를 가진 스터디 멤버 화면에서 원본 이미지와 축소 이미지를 사용할 때의
+    // 전송량(HTML + 이미지)과 화면 렌더링 + 이미지 응답 시간을 비교한다.
+    // ./gradlew loadTest
+
+    static final int MEMBERS = 20;
+    static final int ROUNDS = 20;
+    static final Pattern IMAGE_URL = Pattern.compile("src=\"(/image/[^\"]+)\"");
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ImageService imageService;
+    @Autowired ThumbnailService thumbnailService;
+    @Autowired StudyService studyService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    @WithAccount("bench")
+    @DisplayName("원본 이미지와 축소 이미지의 멤버 화면 전송량, 응답 시간 비교")
+    void pageWeight() throws Exception {
+        Account manager = accountRepository.findByNickname("bench");
+        Study study = transactionTemplate.execute(status -> studyService.createNewStudy(StudyForm.builder()
+                .path("image-bench").title("이미지").shortDescription("short").fullDescription("full").build(), manager));
+        for (int i = 0; i < MEMBERS; i++) {
+            Account member = accountRepository.save(Account.with("image-bench" + i + "@example.com", "image-bench" + i, "password"));
+            Profile profile = Profile.from(member);
+            profile.setImage("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(photo(i)));
+            transactionTemplate.executeWithoutResult(status -> {
+                Account loaded = accountRepository.findById(member.getId()).orElseThrow();
+                profile.setImage(imageService.save(profile.getImage()));
+                loaded.updateProfile(profile);
+                studyService.addMember(studyService.getStudyToEnroll("image-bench"), loaded);
+            });
+            thumbnailService.generate(profile.getImage().substring(ImageService.URL_PREFIX.length())); // 백그라운드 작업을 기다리지 않도록 직접 생성
+        }
+
+        String html = mockMvc.perform(get("/study/" + study.getPath() + "/members")).andReturn().getResponse().getContentAsString();
+        List<String> thumbnails = imageUrls(html);
+        List<String> originals = new ArrayList<>();
+        for (String url : thumbnails) {
+            originals.add(ImageService.URL_PREFIX + ImageService.originalKeyOf(url.substring(ImageService.URL_PREFIX.length())));
+        }
+
+        Result before = measure(study.getPath(), originals);
+        Result after = measure(study.getPath(), thumbnails);
+        log.info("members page with {} avatars, before: {} KB in {} ms, after: {} KB in {} ms",
+                thumbnails.size(), before.bytes / 1024, before.millis, after.bytes / 1024, after.millis);
+        assertTrue(after.bytes * 10 < before.bytes);
+    }
+
+    private Result measure(String path, List<String> imageUrls) throws Exception {
+        long bytes = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            bytes = mockMvc.perform(get("/study/" + path + "/members")).andReturn().getResponse().getContentAsByteArray().length;
+            for (String url : imageUrls) {
+                bytes += mockMvc.perform(get(url)).andReturn().getResponse().getContentAsByteArray().length;
+            }
+        }
+        return new Result(bytes, (System.nanoTime() - started) / 1_000_000 / ROUNDS);
+    }
+
+    private static List<String> imageUrls(String html) {
+        List<String> urls = new ArrayList<>();
+        Matcher matcher = IMAGE_URL.matcher(html);
+        while (matcher.find()) {
+            urls.add(matcher.group(1));
+        }
+        return urls;
+    }
+
+    private static byte[] photo(int seed) throws IOException {
+        // 사진처럼 압축이 잘 되지 않는 800x800 이미지 (약 1MB)
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(800, 800, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static class Result {
+        private final long bytes;
+        private final long millis;
+
+        private Result(long bytes, long millis) {
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.lcalmsky.app.infra.image;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThumbnailServiceTest {
+
+    @TempDir Path rootDir;
+    AppProperties appProperties;
+    LocalDiskImageStore imageStore;
+    ThumbnailService thumbnailService;
+    ImageService imageService;
+    AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void beforeEach() {
+        appProperties = new AppProperties();
+        appProperties.getImage().setRootDir(rootDir.toString());
+        imageStore = new LocalDiskImageStore(appProperties);
+        // 테스트에서는 호출한 스레드에서 바로 만든다.
+        thumbnailService = new ThumbnailService(imageStore, runnable -> {
+            executions.incrementAndGet();
+            runnable.run();
+        }, appProperties, new SimpleMeterRegistry());
+        imageService = new ImageService(imageStore, thumbnailService, appProperties);
+    }
+
+    @Test
+    @DisplayName("업로드한 이미지를 비율을 유지한 채 크기별로 줄여 저장")
+    void generateThumbnails() throws IOException {
+        String url = imageService.save("data:image/png;base64," + Base64.getEncoder().encodeToString(png(1600, 800)));
+        String key = url.substring(ImageService.URL_PREFIX.length());
+
+        assertSize(key, ImageSize.AVATAR, 128, 64);
+        assertSize(key, ImageSize.CARD, 640, 320);
+        assertSize(key, ImageSize.BANNER, 1200, 600);
+        assertEquals(ImageService.URL_PREFIX + ImageService.variantKey(key, ImageSize.AVATAR),
+                imageService.thumbnail(url, "avatar"));
+    }
+
+    @Test
+    @DisplayName("원본보다 크게 늘리지 않는다")
+    void doNotUpscale() throws IOException {
+        String key = imageService.save("data:image/png;base64," + Base64.getEncoder().encodeToString(png(100, 50)))
+                .substring(ImageService.URL_PREFIX.length());
+        assertSize(key, ImageSize.AVATAR, 100, 50);
+        assertSize(key, ImageSize.BANNER, 100, 50);
+    }
+
+    @Test
+    @DisplayName("픽셀 수가 너무 많은 이미지는 디코딩하지 않고 다시 시도하지도 않는다")
+    void rejectTooManyPixels() throws IOException {
+        appProperties.getImage().setMaxPixels(10_000);
+        String key = imageService.save("data:image/png;base64," + Base64.getEncoder().encodeToString(png(200, 100)))
+                .substring(ImageService.URL_PREFIX.length());
+        assertFalse(imageStore.exists(ImageService.variantKey(key, ImageSize.AVATAR)));
+
+        thumbnailService.generateAsync(key);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 이미지는 요청마다 다시 만들지 않는다")
+    void rememberUnreadable() {
+        String key = "0".repeat(64) + ".png";
+        imageStore.save(key, "not an image".getBytes());
+
+        thumbnailService.generateAsync(key);
+        thumbnailService.generateAsync(key);
+        assertEquals(1, executions.get());
+        assertFalse(imageStore.exists(ImageService.variantKey(key, ImageSize.AVATAR)));
+    }
+
+    private void assertSize(String key, ImageSize size, int width, int height) throws IOException {
+        String variant = ImageService.variantKey(key, size);
+        assertTrue(imageStore.exists(variant));
+        try (InputStream inputStream = imageStore.find(variant).orElseThrow().getInputStream()) {
+            BufferedImage image = ImageIO.read(inputStream);
+            assertEquals(width, image.getWidth());
+            assertEquals(height, image.getHeight());
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
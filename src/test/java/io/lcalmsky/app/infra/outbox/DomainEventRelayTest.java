@@ -0,0 +1,153 @@
+package io.lcalmsky.app.infra.outbox;
+
+import io.lcalmsky.app.modules.study.event.StudyUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.domain-events.relay-interval-millis=3600000")
+class DomainEventRelayTest {
+
+    @Autowired DomainEventPublisher domainEventPublisher;
+    @Autowired DomainEventRelay domainEventRelay;
+    @Autowired DomainEventOutboxRepository domainEventOutboxRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired RecordingListener recordingListener;
+
+    @AfterEach
+    void afterEach() {
+        domainEventOutboxRepository.deleteAll();
+        recordingListener.events.clear();
+        recordingListener.threads.clear();
+    }
+
+    @Test
+    @DisplayName("롤백된 트랜잭션의 이벤트는 발행하지 않음")
+    void rollback() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventPublisher.publish(new StudyUpdateEvent(-1L, "rollback"));
+            status.setRollbackOnly();
+        });
+        relayAndWait();
+        assertEquals(0, domainEventOutboxRepository.count());
+        assertTrue(recordingListener.events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("커밋된 이벤트를 발행하고 replay 시 다시 발행")
+    void relayAndReplay() throws InterruptedException {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        transactionTemplate.executeWithoutResult(status -> domainEventPublisher.publish(new StudyUpdateEvent(-1L, "commit")));
+        assertEquals(1, domainEventOutboxRepository.countByPublishedAtIsNull());
+
+        relayAndWait();
+        assertEquals(0, domainEventOutboxRepository.countByPublishedAtIsNull());
+        StudyUpdateEvent relayed = recordingListener.events.get(0);
+        assertEquals(-1L, relayed.getStudyId());
+        assertEquals("commit", relayed.getMessage());
+        assertTrue(recordingListener.threads.get(0).startsWith("studyFanOutExecutor"), recordingListener.threads.get(0));
+
+        assertEquals(1, domainEventRelay.replay(before));
+        relayAndWait();
+        assertEquals(2, recordingListener.events.size());
+    }
+
+    @Test
+    @DisplayName("리스너가 실패하면 발행 완료로 기록하지 않고 다음에 다시 발행")
+    void listenerFailure() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> domainEventPublisher.publish(new StudyUpdateEvent(-1L, "fail")));
+
+        relayAndWait();
+        DomainEventOutbox failed = domainEventOutboxRepository.findAll().get(0);
+        assertNull(failed.getPublishedAt());
+        assertEquals(1, failed.getAttempts());
+
+        relayAndWait();
+        assertEquals(2, domainEventOutboxRepository.findAll().get(0).getAttempts());
+        assertEquals(2, recordingListener.events.size());
+    }
+
+    @Test
+    @DisplayName("리스너가 실행 중인 이벤트는 다시 발행하지 않고, 다른 이벤트의 발행을 막지 않음")
+    void slowListener() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> domainEventPublisher.publish(new StudyUpdateEvent(-1L, "block")));
+        domainEventRelay.relay();
+        assertTrue(recordingListener.blocked.await(5, TimeUnit.SECONDS));
+
+        transactionTemplate.executeWithoutResult(status -> domainEventPublisher.publish(new StudyUpdateEvent(-2L, "commit")));
+        domainEventRelay.relay();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (domainEventRelay.inFlightCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("block", "commit"), recordingListener.messages()); // 실행 중인 이벤트는 한 번만 받았다.
+        assertEquals(1, domainEventOutboxRepository.countByPublishedAtIsNull());
+
+        recordingListener.release.countDown();
+        relayAndWait();
+        assertEquals(0, domainEventOutboxRepository.countByPublishedAtIsNull());
+        assertEquals(2, recordingListener.events.size());
+    }
+
+    private void relayAndWait() throws InterruptedException {
+        // 리스너는 실행기에서 실행되고 결과도 그 스레드에서 기록되므로 실행 중인 이벤트가 없을 때까지 기다린다.
+        domainEventRelay.relay();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (domainEventRelay.inFlightCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, domainEventRelay.inFlightCount());
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+        // 리스너는 relay 스레드가 아닌 실행기에서 실행되므로 스레드에 묶인 @RecordApplicationEvents 대신 직접 기록한다.
+        final List<StudyUpdateEvent> events = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @EventListener
+        public void handle(StudyUpdateEvent studyUpdateEvent) {
+            events.add(studyUpdateEvent);
+            threads.add(Thread.currentThread().getName());
+            if ("fail".equals(studyUpdateEvent.getMessage())) {
+                throw new IllegalStateException("listener failed");
+            }
+            if ("block".equals(studyUpdateEvent.getMessage())) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        List<String> messages() {
+            return events.stream().map(StudyUpdateEvent::getMessage).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.lcalmsky.app.modules.account.application;
+
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountInterestIndexTest {
+
+    AccountInterestIndex accountInterestIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        accountInterestIndex = new AccountInterestIndex(mock(AccountRepository.class));
+        accountInterestIndex.bootstrap();
+        // 태그 10, 20 / 지역 100, 200
+        accountInterestIndex.addTag(1L, 10L);
+        accountInterestIndex.addZone(1L, 100L);
+        accountInterestIndex.addTag(2L, 20L);
+        accountInterestIndex.addZone(2L, 200L);
+        accountInterestIndex.addTag(3L, 10L);
+        accountInterestIndex.addZone(3L, 200L);
+        accountInterestIndex.addTag(4L, 10L); // 지역 없음
+    }
+
+    @Test
+    @DisplayName("태그 중 하나와 지역 중 하나에 모두 해당하는 계정 조회")
+    void findAccountIds() {
+        assertTrue(accountInterestIndex.isReady());
+        assertArrayEquals(new long[]{1L, 3L}, sorted(accountInterestIndex.findAccountIds(List.of(10L), List.of(100L, 200L))));
+        assertArrayEquals(new long[]{2L, 3L}, sorted(accountInterestIndex.findAccountIds(List.of(10L, 20L), List.of(200L))));
+        assertArrayEquals(new long[]{}, accountInterestIndex.findAccountIds(List.of(30L), List.of(100L)));
+    }
+
+    @Test
+    @DisplayName("태그, 지역 삭제 시 조회 대상에서 제외")
+    void remove() {
+        accountInterestIndex.removeTag(3L, 10L);
+        accountInterestIndex.removeZone(1L, 100L);
+        assertArrayEquals(new long[]{}, accountInterestIndex.findAccountIds(List.of(10L), List.of(100L, 200L)));
+    }
+
+    @Test
+    @DisplayName("색인을 만드는 동안 커밋된 삭제가 먼저 읽은 값에 덮어써지지 않음")
+    void removeDuringBootstrap() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        AccountInterestIndex index = new AccountInterestIndex(accountRepository);
+        when(accountRepository.findMaxId()).thenReturn(1L);
+        when(accountRepository.findTagIdPairs(anyLong(), anyLong())).thenAnswer(invocation -> {
+            index.removeTag(1L, 10L); // 태그를 읽은 직후 커밋된 삭제
+            return List.<Object[]>of(new Object[]{1L, 10L});
+        });
+        when(accountRepository.findZoneIdPairs(anyLong(), anyLong())).thenReturn(List.<Object[]>of(new Object[]{1L, 100L}));
+
+        index.bootstrap();
+        assertArrayEquals(new long[]{}, index.findAccountIds(List.of(10L), List.of(100L)));
+        index.addTag(1L, 10L);
+        assertArrayEquals(new long[]{1L}, index.findAccountIds(List.of(10L), List.of(100L)));
+    }
+
+    private long[] sorted(long[] ids) {
+        Arrays.sort(ids);
+        return ids;
+    }
+}
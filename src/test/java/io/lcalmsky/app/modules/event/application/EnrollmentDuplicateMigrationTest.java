@@ -0,0 +1,92 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
+import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:enrollment-duplicate")
+class EnrollmentDuplicateMigrationTest {
+
+    @Autowired EnrollmentDuplicateMigration enrollmentDuplicateMigration;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    Account duplicated;
+    Account other;
+    Event event;
+
+    @BeforeEach
+    void beforeEach() {
+        // 제약 조건을 추가하기 전에 저장된 데이터를 재현한다.
+        jdbcTemplate.execute("alter table enrollment drop constraint " + EnrollmentDuplicateMigration.CONSTRAINT_NAME);
+        duplicated = accountRepository.save(Account.with("duplicated@example.com", "duplicated", "password"));
+        other = accountRepository.save(Account.with("other@example.com", "other", "password"));
+        Study study = Study.from(StudyForm.builder().path("legacy-study").title("기존 스터디")
+                .shortDescription("short").fullDescription("full").build());
+        study.addManager(duplicated);
+        study = studyRepository.save(study);
+        LocalDateTime now = LocalDateTime.now();
+        event = eventRepository.save(Event.from(EventForm.builder()
+                .title("기존 모임").description("description").eventType(EventType.CONFIRMATIVE)
+                .endEnrollmentDateTime(now.plusDays(1)).startDateTime(now.plusDays(2)).endDateTime(now.plusDays(3))
+                .limitOfEnrollments(10).build(), duplicated, study));
+    }
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        studyRepository.deleteAll();
+        accountRepository.deleteAllInBatch();
+        jdbcTemplate.execute("alter table enrollment add constraint " + EnrollmentDuplicateMigration.CONSTRAINT_NAME +
+                " unique (event_id, account_id)");
+    }
+
+    @Test
+    @DisplayName("중복 신청은 확정된 신청 하나만 남기고 모임의 인원 수를 다시 계산")
+    void removeDuplicates() {
+        Enrollment waiting = save(duplicated, false);
+        Enrollment accepted = save(duplicated, true);
+        save(duplicated, true);
+        Enrollment single = save(other, false);
+
+        assertEquals(2, enrollmentDuplicateMigration.removeDuplicates());
+        List<Long> remaining = jdbcTemplate.queryForList("select id from enrollment order by id", Long.class);
+        assertEquals(List.of(accepted.getId(), single.getId()), remaining);
+        assertTrue(enrollmentRepository.findById(waiting.getId()).isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("select accepted_count from event where id = ?", Integer.class, event.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select waiting_count from event where id = ?", Integer.class, event.getId()));
+
+        assertEquals(0, enrollmentDuplicateMigration.removeDuplicates());
+    }
+
+    private Enrollment save(Account account, boolean accepted) {
+        Enrollment enrollment = Enrollment.of(LocalDateTime.now(), accepted, account);
+        enrollment.attach(event);
+        return enrollmentRepository.save(enrollment);
+    }
+}
@@ -0,0 +1,110 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
+import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:enrollment-engine")
+class EnrollmentEngineTest {
+    // 인기 있는 선착순 모임에 1,000명이 동시에 신청해도 정원을 넘지 않고 같은 계정은 한 번만 신청되는지 확인한다.
+
+    static final int ENROLLERS = 1_000;
+    static final int DUPLICATES = 100; // 같은 계정이 두 번 누르는 경우
+    static final int LIMIT = 100;
+    static final int THREADS = 32;
+
+    @Autowired EnrollmentEngine enrollmentEngine;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+
+    List<Account> accounts;
+    Event event;
+
+    @BeforeEach
+    void beforeEach() {
+        accounts = accountRepository.saveAll(IntStream.range(0, ENROLLERS)
+                .mapToObj(i -> Account.with("enroller" + i + "@example.com", "enroller" + i, "password"))
+                .collect(Collectors.toList()));
+        Account manager = accounts.get(0);
+        Study study = Study.from(StudyForm.builder().path("popular-study").title("인기 스터디")
+                .shortDescription("short").fullDescription("full").build());
+        study.addManager(manager);
+        study = studyRepository.save(study);
+        LocalDateTime now = LocalDateTime.now();
+        event = eventRepository.save(Event.from(EventForm.builder()
+                .title("인기 모임").description("description").eventType(EventType.FCFS)
+                .endEnrollmentDateTime(now.plusDays(1)).startDateTime(now.plusDays(2)).endDateTime(now.plusDays(3))
+                .limitOfEnrollments(LIMIT).build(), manager, study));
+    }
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        studyRepository.deleteAll();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("동시에 신청해도 정원만큼만 확정되고 중복 신청은 한 건으로 처리")
+    void concurrentEnrollments() throws Exception {
+        List<Account> requests = new ArrayList<>(accounts);
+        requests.addAll(accounts.subList(0, DUPLICATES));
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (Account account : requests) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    enrollmentEngine.enroll(event.getId(), account);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " enrollments failed, first: " + failures.peek());
+        List<Enrollment> enrollments = enrollmentRepository.findAll();
+        assertEquals(ENROLLERS, enrollments.size());
+        assertEquals(ENROLLERS, enrollments.stream().map(enrollment -> enrollment.getAccount().getId()).distinct().count());
+        assertEquals(LIMIT, enrollments.stream().filter(Enrollment::isAccepted).count());
+        Event saved = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(LIMIT, saved.getAcceptedCount());
+        assertEquals(ENROLLERS - LIMIT, saved.getWaitingCount());
+    }
+}
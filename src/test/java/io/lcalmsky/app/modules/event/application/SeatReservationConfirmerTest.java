@@ -0,0 +1,130 @@
+package io.lcalmsky.app.modules.event.application;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.event.domain.SeatReservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatReservationConfirmerTest {
+
+    static final Long EVENT_ID = 1L;
+
+    AppProperties appProperties;
+    SeatLedger seatLedger;
+    EventService eventService;
+    SeatReservationConfirmer confirmer;
+
+    @BeforeEach
+    void beforeEach() {
+        appProperties = new AppProperties();
+        appProperties.getReservation().setMaxAttempts(3);
+        appProperties.getReservation().setConfirmIntervalMillis(0); // 실패 후 바로 다시 시도
+        appProperties.getReservation().setMaxBackoff(Duration.ZERO);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        seatLedger = new SeatLedger(appProperties, meterRegistry);
+        eventService = mock(EventService.class);
+        confirmer = new SeatReservationConfirmer(seatLedger, eventService, appProperties, meterRegistry); // 스케줄러는 시작하지 않는다.
+    }
+
+    @Test
+    @DisplayName("같은 계정이 여러 번 눌러도 예약과 좌석은 하나")
+    void duplicateClick() {
+        SeatReservation first = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        SeatReservation second = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        SeatReservation other = seatLedger.reserve(EVENT_ID, 11L, () -> 1);
+
+        assertSame(first, second);
+        assertTrue(first.isSeat());
+        assertFalse(other.isSeat());
+        assertEquals(0, seatLedger.remainingSeats(EVENT_ID));
+        assertEquals(2, seatLedger.drain(10).size());
+    }
+
+    @Test
+    @DisplayName("저장에 성공하면 토큰으로 결과를 조회하고 저장 대기가 없는 모임은 장부에서 제거")
+    void confirm() {
+        when(eventService.confirmReservations(anyLong(), anyList())).thenReturn(List.of());
+        SeatReservation reservation = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        assertEquals(SeatReservation.Status.PENDING, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.CONFIRMED, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+        assertNull(seatLedger.findStatus(EVENT_ID, 11L, reservation.getToken())); // 다른 계정은 조회할 수 없다.
+        assertEquals(0, seatLedger.pendingCount());
+
+        seatLedger.prune(Duration.ZERO);
+        assertNull(seatLedger.remainingSeats(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("이미 신청한 계정의 예약은 좌석을 돌려줌")
+    void skipped() {
+        SeatReservation reservation = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        when(eventService.confirmReservations(anyLong(), anyList())).thenReturn(List.of(reservation));
+
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.SKIPPED, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+        assertEquals(1, seatLedger.remainingSeats(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 버리지 않고 다시 시도")
+    void retry() {
+        SeatReservation reservation = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        when(eventService.confirmReservations(anyLong(), anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of());
+
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.PENDING, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+        assertEquals(1, reservation.getAttempts());
+        seatLedger.prune(Duration.ZERO);
+        assertEquals(0, seatLedger.remainingSeats(EVENT_ID)); // 저장 대기 중인 모임은 제거하지 않는다.
+
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.CONFIRMED, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+        verify(eventService, times(2)).confirmReservations(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("다른 모임의 저장 실패가 먼저 처리되지 않음")
+    void failingEventGoesLast() {
+        SeatReservation failing = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        SeatReservation other = seatLedger.reserve(2L, 10L, () -> 1);
+        when(eventService.confirmReservations(eq(EVENT_ID), anyList())).thenThrow(new IllegalStateException("constraint"));
+        when(eventService.confirmReservations(eq(2L), anyList())).thenReturn(List.of());
+
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.PENDING, seatLedger.findStatus(2L, 10L, other.getToken()));
+        confirmer.confirm();
+        assertEquals(SeatReservation.Status.CONFIRMED, seatLedger.findStatus(2L, 10L, other.getToken()));
+        assertEquals(SeatReservation.Status.PENDING, seatLedger.findStatus(EVENT_ID, 10L, failing.getToken()));
+    }
+
+    @Test
+    @DisplayName("최대 횟수만큼 실패하면 실패로 기록하고 좌석을 돌려줌")
+    void giveUp() {
+        SeatReservation reservation = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        when(eventService.confirmReservations(anyLong(), anyList())).thenThrow(new IllegalStateException("constraint"));
+
+        for (int i = 0; i < 3; i++) {
+            confirmer.confirm();
+        }
+        assertEquals(SeatReservation.Status.FAILED, seatLedger.findStatus(EVENT_ID, 10L, reservation.getToken()));
+        assertEquals(1, seatLedger.remainingSeats(EVENT_ID));
+        assertEquals(0, seatLedger.pendingCount());
+
+        // 실패로 기록된 뒤에는 다시 신청할 수 있다.
+        SeatReservation again = seatLedger.reserve(EVENT_ID, 10L, () -> 1);
+        assertNotEquals(reservation.getToken(), again.getToken());
+        assertTrue(again.isSeat());
+    }
+}
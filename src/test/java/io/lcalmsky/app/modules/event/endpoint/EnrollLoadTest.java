@@ -0,0 +1,155 @@
+package io.lcalmsky.app.modules.event.endpoint;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.account.domain.UserAccount;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
+import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
+import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@org.junit.jupiter.api.Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enroll-load",
+        "app.reservation.enabled=true" // SeatReservationConfirmer를 띄우고, 측정 방식은 테스트마다 바꾼다.
+})
+@AutoConfigureMockMvc
+class EnrollLoadTest {
+    // 선착순 모임 신청이 한꺼번에 몰릴 때 참가 신청 요청의 응답 시간을 바로 저장하는 방식과 좌석 예약 방식으로 각각 측정한다.
+    // ./gradlew loadTest
+
+    static final int ENROLLERS = 2_000;
+    static final int LIMIT = 200;
+    static final int THREADS = 64;
+    static final String STUDY_PATH = "enroll-load";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AppProperties appProperties;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+
+    List<Account> accounts;
+    Study study;
+
+    @BeforeAll
+    void seed() {
+        accounts = accountRepository.saveAll(IntStream.range(0, ENROLLERS)
+                .mapToObj(i -> Account.with("enroll-load" + i + "@example.com", "enroll-load" + i, "password"))
+                .collect(Collectors.toList()));
+        Study newStudy = Study.from(StudyForm.builder().path(STUDY_PATH).title("신청 부하 테스트")
+                .shortDescription("load").fullDescription("load").build());
+        newStudy.addManager(accounts.get(0));
+        study = studyRepository.save(newStudy);
+    }
+
+    @AfterEach
+    void afterEach() {
+        appProperties.getReservation().setEnabled(false);
+        enrollmentRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("참가 신청 응답 시간: 요청마다 저장")
+    void direct() throws Exception {
+        appProperties.getReservation().setEnabled(false);
+        measure("direct");
+    }
+
+    @Test
+    @DisplayName("참가 신청 응답 시간: 좌석 예약 후 묶어서 저장")
+    void reservation() throws Exception {
+        appProperties.getReservation().setEnabled(true);
+        measure("reservation");
+    }
+
+    private void measure(String mode) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.save(Event.from(EventForm.builder()
+                .title("인기 모임").description("description").eventType(EventType.FCFS)
+                .endEnrollmentDateTime(now.plusDays(1)).startDateTime(now.plusDays(2)).endDateTime(now.plusDays(3))
+                .limitOfEnrollments(LIMIT).build(), accounts.get(0), study));
+        String url = "/study/" + STUDY_PATH + "/events/" + event.getId() + "/enroll";
+
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (Account account : accounts) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    long started = System.nanoTime();
+                    mockMvc.perform(post(url).with(user(new UserAccount(account))).with(csrf()))
+                            .andExpect(status().is3xxRedirection());
+                    latencies.add(System.nanoTime() - started);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long respondedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (enrollmentRepository.count() < ENROLLERS && System.nanoTime() < deadline) {
+            Thread.sleep(20); // 예약 방식은 SeatReservationConfirmer가 저장할 때까지 기다린다.
+        }
+        long storedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        sorted.sort(null);
+        log.info("[{}] {} enroll requests: all responded in {} ms, all stored in {} ms, p50 {} ms, p99 {} ms, max {} ms",
+                mode, ENROLLERS, respondedMillis, storedMillis, millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 1.0));
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " requests failed, first: " + failures.peek());
+        List<Enrollment> enrollments = enrollmentRepository.findAll();
+        assertEquals(ENROLLERS, enrollments.size());
+        assertEquals(LIMIT, enrollments.stream().filter(Enrollment::isAccepted).count());
+        Event stored = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(LIMIT, stored.getAcceptedCount());
+        assertEquals(ENROLLERS - LIMIT, stored.getWaitingCount());
+    }
+
+    private static long millis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(index, 0)));
+    }
+}
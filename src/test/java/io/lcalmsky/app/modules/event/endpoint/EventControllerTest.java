@@ -1,6 +1,7 @@
 package io.lcalmsky.app.modules.event.endpoint;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lcalmsky.app.infra.outbox.DomainEventOutboxRepository;
 import io.lcalmsky.app.modules.account.WithAccount;
 import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
@@ -9,6 +10,7 @@ import io.lcalmsky.app.modules.event.domain.entity.Enrollment;
 import io.lcalmsky.app.modules.event.domain.entity.Event;
 import io.lcalmsky.app.modules.event.domain.entity.EventType;
 import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
+import io.lcalmsky.app.modules.event.event.WaitingListAcceptedEvent;
 import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
 import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
 import io.lcalmsky.app.modules.study.application.StudyService;
@@ -27,6 +29,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -48,6 +51,8 @@ class EventControllerTest {
     @Autowired EventRepository eventRepository;
     @Autowired EnrollmentRepository enrollmentRepository;
     @Autowired ObjectMapper objectMapper;
+    @Autowired DomainEventOutboxRepository domainEventOutboxRepository;
+    @Autowired EntityManager entityManager;
     private final String studyPath = "study-path";
     private Study study;
 
@@ -145,6 +150,8 @@ class EventControllerTest {
                 .andExpect(model().attributeExists("study"))
                 .andExpect(model().attributeExists("newEvents"))
                 .andExpect(model().attributeExists("oldEvents"))
+                .andExpect(model().attributeExists("newEventPage"))
+                .andExpect(model().attributeExists("oldEventPage"))
                 .andExpect(view().name("study/events"));
     }
 
@@ -229,6 +236,53 @@ class EventControllerTest {
         assertNull(enrollmentRepository.findByEventAndAccount(event, jaime));
     }
 
+    @Test
+    @DisplayName("모임 정원을 늘리는 경우: 늘어난 자리만큼 먼저 신청한 대기자를 한꺼번에 확정")
+    @WithAccount("jaime")
+    void update_accepts_waiting_list() {
+        Account manager = accountRepository.findByNickname("jaime");
+        Account tester1 = createAccount("tester1");
+        Account tester2 = createAccount("tester2");
+        Account tester3 = createAccount("tester3");
+        Account tester4 = createAccount("tester4");
+        Event event = stubbingEvent(EventType.FCFS, manager);
+        eventService.enroll(event, tester1);
+        eventService.enroll(event, tester2);
+        eventService.enroll(event, tester3);
+        eventService.enroll(event, tester4);
+        isNotAccepted(tester3, event);
+        isNotAccepted(tester4, event);
+
+        EventForm eventForm = EventForm.from(event);
+        eventForm.setLimitOfEnrollments(3);
+        eventService.updateEvent(event, eventForm);
+
+        isAccepted(tester3, event);
+        isNotAccepted(tester4, event);
+        assertTrue(entityManager.contains(event)); // 영속성 컨텍스트를 비우지 않는다.
+        assertTrue(event.getEnrollments().stream()
+                .filter(enrollment -> enrollment.getAccount().equals(tester3))
+                .allMatch(Enrollment::isAccepted)); // 이미 불러온 참가 신청도 확정 상태를 보여준다.
+        Event updated = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(3, updated.getAcceptedCount());
+        assertEquals(1, updated.getWaitingCount());
+        assertEquals(1, domainEventOutboxRepository.findAll().stream()
+                .filter(outbox -> outbox.getEventType().equals(WaitingListAcceptedEvent.class.getName()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("인원 수를 아직 계산하지 않은 기존 모임의 남은 좌석 조회")
+    @WithAccount("jaime")
+    void remaining_seats_of_legacy_event() {
+        Event event = stubbingEvent(EventType.FCFS, accountRepository.findByNickname("jaime"));
+        entityManager.flush();
+        entityManager.createNativeQuery("update event set accepted_count = null where id = :id")
+                .setParameter("id", event.getId())
+                .executeUpdate();
+        assertEquals(2, eventRepository.findRemainingSeatsForUpdate(event.getId()));
+    }
+
     @Test
     @DisplayName("참가신청 비확정자가 참가 신청을 취소하는 경우: 변화 없음")
     @WithAccount("jaime")
@@ -0,0 +1,90 @@
+package io.lcalmsky.app.modules.main.application;
+
+import io.lcalmsky.app.modules.account.application.AccountService;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.application.StudyService;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.lcalmsky.app.modules.zone.repository.ZoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DashboardServiceTest {
+
+    @Autowired DashboardService dashboardService;
+    @Autowired AccountService accountService;
+    @Autowired StudyService studyService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    Account manager;
+    Account member;
+    Tag tag;
+    Zone zone;
+
+    @BeforeEach
+    void beforeEach() {
+        manager = accountRepository.save(Account.with("manager@example.com", "manager", "password"));
+        member = accountRepository.save(Account.with("member@example.com", "member", "password"));
+        tag = tagRepository.save(Tag.builder().title("대시보드").build());
+        zone = zoneRepository.save(Zone.builder().city("dashboard").localNameOfCity("대시보드시").province("대시보드도").build());
+        transactionTemplate.executeWithoutResult(status -> {
+            Study study = studyService.createNewStudy(StudyForm.builder().path("dashboard-study").title("대시보드 스터디")
+                    .shortDescription("short").fullDescription("full").build(), manager);
+            studyService.addTag(study, tag);
+            studyService.addZone(study, zone);
+            studyService.publish(study);
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        tagRepository.delete(tag);
+        zoneRepository.delete(zone);
+    }
+
+    @Test
+    @DisplayName("구역별로 동시에 조회하고 관심사가 겹치는 스터디를 추천")
+    void dashboard() {
+        Dashboard managerDashboard = dashboardService.getDashboard(manager);
+        assertEquals("manager", managerDashboard.getAccount().getNickname());
+        assertEquals(1, managerDashboard.getManagerOf().size());
+        assertTrue(managerDashboard.getMemberOf().isEmpty());
+        assertTrue(managerDashboard.getEnrollments().isEmpty());
+
+        // 관심 주제, 활동 지역이 없으므로 추천하지 않는다.
+        assertTrue(dashboardService.getDashboard(member).getRecommendations().isEmpty());
+        // 관심 주제를 추가하면 미리 계산한 추천 목록을 비우고 다시 계산한다.
+        accountService.addTag(member, tag);
+        assertEquals("dashboard-study", dashboardService.getDashboard(member).getRecommendations().stream()
+                .map(StudyCard::getPath)
+                .collect(Collectors.joining()));
+
+        assertNotNull(meterRegistry.find("home.dashboard.section").tag("section", "recommendations").timer());
+    }
+}
@@ -0,0 +1,75 @@
+package io.lcalmsky.app.modules.main.endpoint.controller;
+
+import io.lcalmsky.app.infra.image.ImageService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    // 1x1 투명 PNG
+    private static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ImageService imageService;
+
+    @Test
+    @DisplayName("data URL 이미지를 내용의 해시로 저장하고 캐시 헤더와 함께 응답")
+    void serveStoredImage() throws Exception {
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+        String url = imageService.save(dataUrl);
+        assertEquals(url, imageService.save(dataUrl)); // 같은 내용은 같은 경로
+        assertEquals(url, imageService.save(url)); // 이미 저장한 경로는 그대로
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(PNG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 보낸 MIME 타입이 아니라 내용의 시그니처로 형식을 판단")
+    void detectFormatByContent() throws Exception {
+        String url = imageService.save("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(PNG));
+        assertTrue(url.endsWith(".png"), url);
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG));
+
+        String html = Base64.getEncoder().encodeToString("<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> imageService.save("data:image/png;base64," + html));
+    }
+
+    @Test
+    @DisplayName("형식이 맞지 않거나 없는 이미지")
+    void invalidImage() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> imageService.save("image-test"));
+        mockMvc.perform(get("/image/..%2F..%2Fetc%2Fpasswd"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/image/" + "0".repeat(64) + ".png"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,165 @@
+package io.lcalmsky.app.modules.main.endpoint.controller;
+
+import io.lcalmsky.app.infra.SqlCapture;
+import io.lcalmsky.app.modules.account.WithAccount;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.event.application.EventService;
+import io.lcalmsky.app.modules.event.domain.EventSummary;
+import io.lcalmsky.app.modules.event.domain.entity.Event;
+import io.lcalmsky.app.modules.event.domain.entity.EventType;
+import io.lcalmsky.app.modules.event.endpoint.form.EventForm;
+import io.lcalmsky.app.modules.event.infra.repository.EnrollmentRepository;
+import io.lcalmsky.app.modules.event.infra.repository.EventRepository;
+import io.lcalmsky.app.modules.study.application.RecentStudyFeed;
+import io.lcalmsky.app.modules.study.application.StudySearchIndex;
+import io.lcalmsky.app.modules.study.application.StudyService;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:list-view-query", SqlCapture.PROPERTY})
+@AutoConfigureMockMvc
+class ListViewQueryTest {
+    // 목록 화면이 엔티티 대신 필요한 컬럼만 조회하는지 화면별 SQL 수와 조회 컬럼 수로 확인한다.
+
+    private static final int STUDY_CARD_COLUMNS = 6; // id, path, title, shortDescription, memberCount, publishedDateTime
+    private static final int EVENT_SUMMARY_COLUMNS = 7; // id, title, 시작, 종료, 모집 마감, 정원, 확정 인원 수
+
+    @Autowired MockMvc mockMvc;
+    @Autowired StudyService studyService;
+    @Autowired EventService eventService;
+    @Autowired StudySearchIndex studySearchIndex;
+    @Autowired RecentStudyFeed recentStudyFeed;
+    @Autowired AccountRepository accountRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired EventRepository eventRepository;
+    @Autowired EnrollmentRepository enrollmentRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        Account account = accountRepository.findByNickname("lister");
+        Tag tag = tagRepository.save(Tag.builder().title("목록").build());
+        transactionTemplate.executeWithoutResult(status -> {
+            Study study = studyService.createNewStudy(StudyForm.builder().path("list-study").title("목록 스터디")
+                    .shortDescription("short").fullDescription("full").build(), account);
+            studyService.addTag(study, tag);
+            studyService.publish(study);
+            LocalDateTime now = LocalDateTime.now();
+            Event event = eventRepository.save(Event.from(EventForm.builder()
+                    .title("목록 모임").description("description").eventType(EventType.FCFS)
+                    .endEnrollmentDateTime(now.plusDays(1)).startDateTime(now.plusDays(2)).endDateTime(now.plusDays(3))
+                    .limitOfEnrollments(2).build(), account, study));
+            eventService.enroll(event, account);
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        enrollmentRepository.deleteAll();
+        eventRepository.deleteAll();
+        studyRepository.findAll().forEach(study -> studySearchIndex.remove(study.getId()));
+        studyRepository.deleteAll();
+        tagRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("첫 화면 목록은 id, 스터디, 태그, 지역 네 번의 조회로 만들고 요청마다 조회하지 않는다")
+    @WithAccount("lister")
+    void homeFeed() throws Exception {
+        SqlCapture.clear();
+        recentStudyFeed.refresh();
+        List<String> selects = SqlCapture.selects();
+        assertEquals(4, selects.size(), String.join("\n", selects));
+        assertTrue(selects.stream().anyMatch(sql -> SqlCapture.selectedColumns(sql) == STUDY_CARD_COLUMNS));
+
+        SqlCapture.clear();
+        mockMvc.perform(get("/").with(anonymous()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("목록 스터디")));
+        assertTrue(SqlCapture.statements().isEmpty(), String.join("\n", SqlCapture.statements()));
+    }
+
+    @Test
+    @DisplayName("검색 결과는 캐시된 id로 스터디, 태그, 지역 컬럼만 조회한다")
+    @WithAccount("lister")
+    void searchPage() throws Exception {
+        assertTrue(studySearchIndex.isReady());
+        mockMvc.perform(get("/search/study").param("keyword", "목록").with(anonymous())).andExpect(status().isOk());
+
+        SqlCapture.clear();
+        mockMvc.perform(get("/search/study").param("keyword", "목록").with(anonymous()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("목록 스터디")));
+        List<String> selects = SqlCapture.selects();
+        assertEquals(3, selects.size(), String.join("\n", selects));
+        assertEquals(STUDY_CARD_COLUMNS, selects.stream()
+                .mapToInt(SqlCapture::selectedColumns)
+                .max()
+                .orElse(0));
+    }
+
+    @Test
+    @DisplayName("모임 목록은 참가 신청을 불러오지 않고 진행 예정과 지난 모임을 종료 시각으로 나눠 한 페이지씩 조회한다")
+    @WithAccount("lister")
+    void eventsPage() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.save(Event.from(EventForm.builder()
+                .title("지난 모임").description("description").eventType(EventType.FCFS)
+                .endEnrollmentDateTime(now.minusDays(3)).startDateTime(now.minusDays(2)).endDateTime(now.minusDays(1))
+                .limitOfEnrollments(2).build(), accountRepository.findByNickname("lister"), studyRepository.findByPath("list-study")));
+        SqlCapture.clear();
+        MvcResult result = mockMvc.perform(get("/study/list-study/events"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> selects = SqlCapture.selects();
+        assertTrue(selects.stream().noneMatch(sql -> sql.toLowerCase().contains(" from enrollment ")), String.join("\n", selects));
+        List<String> eventQueries = selects.stream()
+                .filter(sql -> sql.toLowerCase().contains(" from event "))
+                .collect(Collectors.toList());
+        // 한 페이지보다 적게 조회되면 count 쿼리는 실행하지 않는다.
+        assertEquals(2, eventQueries.size(), String.join("\n", eventQueries));
+        eventQueries.forEach(sql -> {
+            assertEquals(EVENT_SUMMARY_COLUMNS, SqlCapture.selectedColumns(sql), sql);
+            assertTrue(sql.toLowerCase().contains("end_date_time>=") || sql.toLowerCase().contains("end_date_time<"), sql);
+        });
+
+        @SuppressWarnings("unchecked")
+        List<EventSummary> newEvents = (List<EventSummary>) result.getModelAndView().getModel().get("newEvents");
+        assertEquals(1, newEvents.size());
+        assertEquals(1, newEvents.get(0).getNumberOfAcceptedEnrollments());
+        assertEquals(1, newEvents.get(0).numberOfRemainSpots());
+        @SuppressWarnings("unchecked")
+        List<EventSummary> oldEvents = (List<EventSummary>) result.getModelAndView().getModel().get("oldEvents");
+        assertEquals(1, oldEvents.size());
+        assertEquals("지난 모임", oldEvents.get(0).getTitle());
+    }
+}
@@ -1,8 +1,13 @@
 package io.lcalmsky.app.modules.main.endpoint.controller;
 
 import io.lcalmsky.app.modules.account.application.AccountService;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
 import io.lcalmsky.app.modules.account.endpoint.controller.form.SignUpForm;
 import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.application.RecentStudyFeed;
+import io.lcalmsky.app.modules.study.application.StudyService;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +15,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -26,6 +41,11 @@ class MainControllerTest {
     @Autowired MockMvc mockMvc;
     @Autowired AccountService accountService;
     @Autowired AccountRepository accountRepository;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired RecentStudyFeed recentStudyFeed;
+    @Autowired StudyListFragmentCache studyListFragmentCache;
+    @Autowired TransactionTemplate transactionTemplate;
 
     @BeforeEach
     void beforeEach() {
@@ -38,6 +58,8 @@ class MainControllerTest {
 
     @AfterEach
     void afterEach() {
+        studyRepository.deleteAll();
+        recentStudyFeed.refresh();
         accountRepository.deleteAll();
 
     }
@@ -81,6 +103,44 @@ class MainControllerTest {
                 .andExpect(unauthenticated()); // 로그인이 실패했기에 인증되지 않은 상태로 남아있다.
     }
 
+    @DisplayName("비로그인 첫 화면: 공개한 스터디가 커밋 직후 카드 목록에 보인다")
+    @Test
+    void home_anonymous() throws Exception {
+        Account account = accountRepository.findByNickname("vzxcv");
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("첫 화면 스터디"))));
+
+        transactionTemplate.executeWithoutResult(status -> studyService.publish(studyService.createNewStudy(
+                StudyForm.builder().path("home-feed").title("첫 화면 스터디").shortDescription("short").fullDescription("full").build(),
+                account)));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(content().string(containsString("첫 화면 스터디")))
+                .andExpect(content().string(containsString("/study/home-feed")));
+    }
+
+    @DisplayName("비로그인 첫 화면: 쿠키 없는 요청으로 렌더링해도 공유하는 카드 목록에 세션 id가 들어가지 않는다")
+    @Test
+    void home_fragment_without_session_id() {
+        Account account = accountRepository.findByNickname("vzxcv");
+        transactionTemplate.executeWithoutResult(status -> studyService.publish(studyService.createNewStudy(
+                StudyForm.builder().path("no-session-id").title("세션 없는 스터디").shortDescription("short").fullDescription("full").build(),
+                account)));
+        MockHttpServletResponse rewriting = new MockHttpServletResponse() {
+            @Override
+            public String encodeURL(String url) {
+                return url + ";jsessionid=SHARED";
+            }
+        };
+
+        String html = studyListFragmentCache.render(recentStudyFeed.getFeed(), new MockHttpServletRequest(), rewriting);
+        assertTrue(html.contains("/study/no-session-id"), html);
+        assertFalse(html.contains("jsessionid"), html);
+    }
+
     @DisplayName("로그아웃: 성공")
     @Test
     void logout() throws Exception{
@@ -0,0 +1,101 @@
+package io.lcalmsky.app.modules.notification.appcation;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InMemoryUnreadNotificationCounterTest {
+
+    static final Long ACCOUNT_ID = 1L;
+
+    NotificationRepository notificationRepository;
+    InMemoryUnreadNotificationCounter counter;
+    AtomicLong unread = new AtomicLong(); // DB에 저장된 읽지 않은 알림 수
+
+    @BeforeEach
+    void beforeEach() {
+        notificationRepository = mock(NotificationRepository.class);
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false)).thenAnswer(invocation -> unread.get());
+        counter = new InMemoryUnreadNotificationCounter(notificationRepository, new AppProperties());
+    }
+
+    @Test
+    @DisplayName("처음 조회할 때만 DB에서 count 하고, 알림이 바뀌면 다시 조회")
+    void countAndInvalidate() {
+        unread.set(2);
+        assertEquals(2, counter.count(ACCOUNT_ID));
+        assertEquals(2, counter.count(ACCOUNT_ID));
+        verify(notificationRepository, times(1)).countByAccountIdAndChecked(ACCOUNT_ID, false);
+
+        unread.set(3);
+        counter.invalidate(ACCOUNT_ID);
+        assertEquals(3, counter.count(ACCOUNT_ID));
+
+        unread.set(0);
+        counter.invalidate(ACCOUNT_ID);
+        assertEquals(0, counter.count(ACCOUNT_ID));
+        verify(notificationRepository, times(3)).countByAccountIdAndChecked(ACCOUNT_ID, false);
+    }
+
+    @Test
+    @DisplayName("커밋 전의 값을 읽는 중에 알림이 추가되면 조회가 끝난 뒤 지워서 다음 조회에 반영")
+    void invalidateDuringLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false))
+                .thenAnswer(invocation -> {
+                    long stale = unread.get(); // 커밋 전의 값
+                    loading.countDown();
+                    committed.await(5, TimeUnit.SECONDS);
+                    return stale;
+                })
+                .thenAnswer(invocation -> unread.get());
+
+        CompletableFuture<Long> load = CompletableFuture.supplyAsync(() -> counter.count(ACCOUNT_ID));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        unread.set(1); // 알림 저장 커밋
+        CompletableFuture<Void> invalidate = CompletableFuture.runAsync(() -> counter.invalidate(ACCOUNT_ID));
+        committed.countDown();
+
+        assertEquals(0L, load.get(5, TimeUnit.SECONDS));
+        invalidate.get(5, TimeUnit.SECONDS);
+        assertEquals(1, counter.count(ACCOUNT_ID));
+        assertEquals(1, counter.count(ACCOUNT_ID)); // 두 번 더해지지 않는다.
+    }
+
+    @Test
+    @DisplayName("보관할 계정 수를 넘으면 캐시에서 제거")
+    void bounded() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getNotification().setCounterMaxSize(1);
+        counter = new InMemoryUnreadNotificationCounter(notificationRepository, appProperties);
+        for (long accountId = 1; accountId <= 100; accountId++) {
+            counter.count(accountId);
+        }
+        assertTrue(counter.size() <= 1);
+    }
+
+    @Test
+    @DisplayName("캐시에 남아 있는 값을 DB 기준으로 다시 맞춤")
+    void reconcile() {
+        unread.set(2);
+        counter.count(ACCOUNT_ID);
+        unread.set(5); // 다른 경로로 바뀐 알림
+        when(notificationRepository.countUncheckedGroupByAccountId(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{ACCOUNT_ID, 5L}));
+
+        counter.reconcile();
+        assertEquals(5, counter.count(ACCOUNT_ID));
+    }
+}
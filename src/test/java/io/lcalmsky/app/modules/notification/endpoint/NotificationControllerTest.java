@@ -0,0 +1,119 @@
+package io.lcalmsky.app.modules.notification.endpoint;
+
+import io.lcalmsky.app.modules.account.WithAccount;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired AccountRepository accountRepository;
+    @Autowired NotificationRepository notificationRepository;
+
+    @Test
+    @DisplayName("종류를 지정하면 해당 종류의 알림만 조회하고, 지정하지 않으면 전체 조회")
+    @WithAccount("jaime")
+    void filterByType() throws Exception {
+        saveNotifications(5, NotificationType.STUDY_CREATED, true);
+        saveNotifications(3, NotificationType.STUDY_UPDATED, true);
+
+        List<Notification> updated = notifications(mockMvc.perform(get("/notifications/old")
+                        .param("type", NotificationType.STUDY_UPDATED.name()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("type", NotificationType.STUDY_UPDATED))
+                .andExpect(model().attribute("numberOfNewStudyNotifications", 5L))
+                .andExpect(model().attribute("numberOfWatchingStudyNotifications", 3L))
+                .andReturn());
+        assertEquals(3, updated.size());
+        assertTrue(updated.stream().allMatch(n -> n.getNotificationType() == NotificationType.STUDY_UPDATED));
+
+        List<Notification> all = notifications(mockMvc.perform(get("/notifications/old"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("type", (Object) null))
+                .andReturn());
+        assertEquals(8, all.size());
+    }
+
+    @Test
+    @DisplayName("이전 페이지의 마지막 알림 이후부터 다음 페이지를 조회")
+    @WithAccount("jaime")
+    void cursorPaging() throws Exception {
+        saveNotifications(NotificationController.INBOX_SIZE + 5, NotificationType.STUDY_CREATED, true);
+
+        MvcResult first = mockMvc.perform(get("/notifications/old"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("hasNext", true))
+                .andReturn();
+        List<Notification> firstPage = notifications(first);
+        assertEquals(NotificationController.INBOX_SIZE, firstPage.size());
+        Notification last = firstPage.get(firstPage.size() - 1);
+        assertEquals(last.getCreated(), first.getModelAndView().getModel().get("nextBefore"));
+        assertEquals(last.getId(), first.getModelAndView().getModel().get("nextBeforeId"));
+
+        List<Notification> secondPage = notifications(mockMvc.perform(get("/notifications/old")
+                        .param("before", last.getCreated().toString())
+                        .param("beforeId", last.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("hasNext", false))
+                .andReturn());
+        assertEquals(5, secondPage.size());
+        Set<Long> ids = new HashSet<>();
+        firstPage.forEach(n -> ids.add(n.getId()));
+        secondPage.forEach(n -> assertTrue(ids.add(n.getId()), "duplicated notification " + n.getId()));
+        assertTrue(secondPage.stream().allMatch(n -> !n.getCreated().isAfter(last.getCreated())));
+    }
+
+    @Test
+    @DisplayName("새 알림은 화면에 보여준 종류의 알림만 읽음 처리")
+    @WithAccount("jaime")
+    void markShownTypeAsRead() throws Exception {
+        saveNotifications(2, NotificationType.EVENT_ENROLLMENT, false);
+        saveNotifications(3, NotificationType.STUDY_CREATED, false);
+        Account account = accountRepository.findByNickname("jaime");
+
+        mockMvc.perform(get("/notifications").param("type", NotificationType.EVENT_ENROLLMENT.name()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("notification/list"))
+                .andExpect(model().attribute("isNew", true));
+        assertEquals(3, notificationRepository.countByAccountAndChecked(account, false));
+    }
+
+    private void saveNotifications(int count, NotificationType type, boolean checked) {
+        Account account = accountRepository.findByNickname("jaime");
+        // 같은 시각의 알림은 id 순서로 나뉘는지도 확인하도록 두 건씩 같은 시각으로 저장한다.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < count; i++) {
+            notificationRepository.save(Notification.from("title" + i, "/study/" + i, checked, now.minusMinutes(i / 2),
+                    "message", account, type));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Notification> notifications(MvcResult result) {
+        return (List<Notification>) result.getModelAndView().getModel().get("notifications");
+    }
+}
@@ -0,0 +1,58 @@
+package io.lcalmsky.app.modules.notification.repository;
+
+import io.lcalmsky.app.infra.SqlCapture;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.domain.entity.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-id-allocation",
+        SqlCapture.PROPERTY
+})
+class NotificationIdAllocationTest {
+    // 알림을 묶어서 저장할 때 id를 알림마다 시퀀스에서 받지 않는지 실행된 SQL로 확인한다.
+
+    static final int NOTIFICATIONS = 1_200;
+
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired AccountRepository accountRepository;
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAllInBatch();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("알림 id는 시퀀스에서 묶음 단위로 받음")
+    void pooledSequence() {
+        Account account = accountRepository.save(Account.with("sequence@example.com", "sequence", "password"));
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = IntStream.range(0, NOTIFICATIONS)
+                .mapToObj(i -> Notification.from("title" + i, "/study/" + i, false, now, "message", account,
+                        NotificationType.STUDY_CREATED))
+                .collect(Collectors.toList());
+        SqlCapture.clear();
+
+        notificationRepository.saveAll(notifications);
+        long sequenceCalls = SqlCapture.statements().stream()
+                .filter(sql -> sql.toLowerCase().contains(Notification.ID_SEQUENCE))
+                .count();
+        assertTrue(sequenceCalls <= NOTIFICATIONS / Notification.ID_ALLOCATION_SIZE + 2, "sequence calls: " + sequenceCalls);
+        assertEquals(NOTIFICATIONS, notifications.stream().map(Notification::getId).distinct().count());
+    }
+}
@@ -0,0 +1,97 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.modules.account.application.AccountService;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.lcalmsky.app.modules.zone.repository.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class StudyRecommenderTest {
+
+    @Autowired StudyRecommender studyRecommender;
+    @Autowired StudyService studyService;
+    @Autowired AccountService accountService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Account manager;
+    Account reader;
+    Tag tag;
+    Zone zone;
+
+    @BeforeEach
+    void beforeEach() {
+        manager = accountRepository.save(Account.with("recommend-manager@example.com", "recommend-manager", "password"));
+        reader = accountRepository.save(Account.with("recommend-reader@example.com", "recommend-reader", "password"));
+        tag = tagRepository.save(Tag.builder().title("추천").build());
+        zone = zoneRepository.save(Zone.builder().city("recommend").localNameOfCity("추천시").province("추천도").build());
+        accountService.addTag(reader, tag);
+        accountService.addZone(reader, zone);
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.findAll().forEach(study -> studyRecommender.remove(study.getId()));
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        tagRepository.delete(tag);
+        zoneRepository.delete(zone);
+    }
+
+    @Test
+    @DisplayName("관심 주제와 지역이 많이 겹치는 스터디를 먼저 추천하고, 공개 이후 바뀐 내용을 반영")
+    void recommend() {
+        assertTrue(studyRecommender.isReady());
+        Study tagOnly = createAndPublish("tag-only", true, false);
+        createAndPublish("tag-and-zone", true, true);
+        createAndPublish("unrelated", false, false);
+
+        assertEquals(List.of("tag-and-zone", "tag-only"), paths(studyRecommender.recommend(reader.getId())));
+
+        transactionTemplate.executeWithoutResult(status ->
+                studyService.close(studyRepository.findById(tagOnly.getId()).orElseThrow()));
+        assertEquals(List.of("tag-and-zone"), paths(studyRecommender.recommend(reader.getId())));
+    }
+
+    private Study createAndPublish(String path, boolean withTag, boolean withZone) {
+        return transactionTemplate.execute(status -> {
+            Study study = studyService.createNewStudy(StudyForm.builder().path(path).title(path)
+                    .shortDescription("short").fullDescription("full").build(), manager);
+            if (withTag) {
+                studyService.addTag(study, tag);
+            }
+            if (withZone) {
+                studyService.addZone(study, zone);
+            }
+            studyService.publish(study);
+            return study;
+        });
+    }
+
+    private List<String> paths(List<StudyCard> cards) {
+        return cards.stream().map(StudyCard::getPath).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudySearchCacheTest {
+
+    static final Pageable BY_MEMBER_COUNT = PageRequest.of(0, 9, Sort.by(Sort.Direction.DESC, "memberCount"));
+    static final Pageable BY_PUBLISHED = PageRequest.of(0, 9, Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+
+    StudySearchCache studySearchCache;
+    AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void beforeEach() {
+        studySearchCache = new StudySearchCache(new AppProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("멤버 수가 바뀌면 그 스터디가 포함되고 멤버 수로 정렬한 검색 결과만 지움")
+    void evictMemberCountOrder() {
+        search("spring", BY_MEMBER_COUNT);
+        search("spring", BY_PUBLISHED);
+        search("java", BY_MEMBER_COUNT);
+        assertEquals(3, loads.get());
+
+        studySearchCache.evictMemberCountOrder("spring"::equals);
+        search("spring", BY_MEMBER_COUNT);
+        assertEquals(4, loads.get());
+        search("spring", BY_PUBLISHED);
+        search("java", BY_MEMBER_COUNT);
+        assertEquals(4, loads.get()); // 나머지는 캐시에 남아 있다.
+    }
+
+    @Test
+    @DisplayName("스터디 정보가 바뀌면 전체를 비움")
+    void invalidateAll() {
+        search("spring", BY_PUBLISHED);
+        search("java", BY_MEMBER_COUNT);
+
+        studySearchCache.invalidateAll();
+        search("spring", BY_PUBLISHED);
+        search("java", BY_MEMBER_COUNT);
+        assertEquals(4, loads.get());
+    }
+
+    private void search(String keyword, Pageable pageable) {
+        studySearchCache.getResult(keyword, pageable, () -> {
+            loads.incrementAndGet();
+            return new StudySearchIndex.SearchResult(List.of(1L), 1);
+        });
+    }
+}
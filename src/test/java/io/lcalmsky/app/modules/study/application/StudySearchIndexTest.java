@@ -0,0 +1,149 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudySearchIndexTest {
+
+    static final Sort BY_MEMBER_COUNT = Sort.by(Sort.Direction.DESC, "memberCount");
+    static final Sort BY_PUBLISHED = Sort.by(Sort.Direction.DESC, "publishedDateTime");
+
+    @Test
+    @DisplayName("글자 단위 1, 2-gram으로 나누고, 검색어는 두 글자 이상이면 bigram으로 찾음")
+    void grams() {
+        Set<String> grams = StudySearchIndex.grams("자바스터디");
+        assertTrue(grams.containsAll(Set.of("자", "바", "스", "터", "디", "자바", "바스", "스터", "터디")));
+        assertEquals(9, grams.size());
+        assertFalse(grams.contains("자바스"));
+
+        assertEquals(Set.of("자"), StudySearchIndex.queryGrams("자"));
+        assertEquals(Set.of("자바"), StudySearchIndex.queryGrams("자바"));
+        assertEquals(Set.of("스프", "프링", "링부", "부트"), StudySearchIndex.queryGrams("스프링부트"));
+    }
+
+    @Test
+    @DisplayName("이름, 관심 주제, 지역 순서로 점수를 매기고 검색어와 같으면 점수를 두 배로")
+    void scoreOrder() {
+        StudySearchIndex index = readyIndex();
+        index.index(study(1L, "주말 모임", null, "서울특별시", 1, LocalDateTime.now()));
+        index.index(study(2L, "주말 모임", "서울여행", null, 1, LocalDateTime.now()));
+        index.index(study(3L, "서울 주말 모임", null, null, 1, LocalDateTime.now()));
+        index.index(study(4L, "주말 모임", "서울", null, 1, LocalDateTime.now()));
+        index.index(study(5L, "서울", null, null, 1, LocalDateTime.now()));
+
+        StudySearchIndex.SearchResult result = index.search("서울", Sort.unsorted(), 0, 10);
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), result.getStudyIds());
+        assertEquals(5, result.getTotal());
+    }
+
+    @Test
+    @DisplayName("한 글자 검색어는 그 글자를 포함한 스터디를 찾음")
+    void oneCharacterQuery() {
+        StudySearchIndex index = readyIndex();
+        index.index(study(1L, "자바", null, null, 1, LocalDateTime.now()));
+        index.index(study(2L, "코틀린", "자료구조", null, 1, LocalDateTime.now()));
+        index.index(study(3L, "파이썬", null, null, 1, LocalDateTime.now()));
+
+        assertEquals(List.of(1L, 2L), index.search("자", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(1L), index.search("바", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(), index.search("루", Sort.unsorted(), 0, 10).getStudyIds());
+    }
+
+    @Test
+    @DisplayName("점수가 같으면 선택한 정렬 기준(멤버 수, 공개일)을 따름")
+    void sortWithinSameScore() {
+        StudySearchIndex index = readyIndex();
+        LocalDateTime now = LocalDateTime.now();
+        index.index(study(1L, "스프링 스터디", null, null, 10, now.minusDays(2)));
+        index.index(study(2L, "JPA 스터디", null, null, 5, now));
+        index.index(study(3L, "자바 스터디", null, null, 7, now.minusDays(1)));
+
+        assertEquals(List.of(1L, 3L, 2L), index.search("스터디", BY_MEMBER_COUNT, 0, 10).getStudyIds());
+        assertEquals(List.of(2L, 3L, 1L), index.search("스터디", BY_PUBLISHED, 0, 10).getStudyIds());
+        assertEquals(List.of(3L, 1L), index.search("스터디", BY_PUBLISHED, 1, 10).getStudyIds());
+    }
+
+    @Test
+    @DisplayName("다시 색인하거나 삭제하면 이전 스터디 정보의 n-gram 색인을 지움")
+    void reindexRemovesPostings() {
+        StudySearchIndex index = readyIndex();
+        index.index(study(1L, "자바 스터디", "자바", "서울특별시", 1, LocalDateTime.now()));
+        assertTrue(index.matches(1L, "서울"));
+
+        index.index(study(1L, "코틀린 스터디", "코틀린", "부산광역시", 1, LocalDateTime.now()));
+        assertEquals(List.of(), index.search("자바", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(), index.search("서울", Sort.unsorted(), 0, 10).getStudyIds());
+        assertFalse(index.matches(1L, "자바"));
+        assertEquals(List.of(1L), index.search("코틀린", Sort.unsorted(), 0, 10).getStudyIds());
+
+        index.remove(1L);
+        assertEquals(List.of(), index.search("코틀린", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(), index.search("스터디", Sort.unsorted(), 0, 10).getStudyIds());
+    }
+
+    @Test
+    @DisplayName("색인을 만드는 동안 커밋된 변경이 먼저 읽은 스터디 정보에 덮어써지지 않음")
+    void changesDuringBootstrap() {
+        StudyRepository studyRepository = mock(StudyRepository.class);
+        StudySearchIndex index = new StudySearchIndex(studyRepository);
+        when(studyRepository.findPublishedIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(studyRepository.findPublishedIdsAfter(eq(2L), any())).thenReturn(List.of());
+        Study removed = study(1L, "삭제된 스터디");
+        Study before = study(2L, "예전 이름");
+        Study after = study(2L, "바뀐 이름");
+        when(studyRepository.findStudiesWithTagsAndZonesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            // 스터디를 읽은 직후 커밋된 삭제와 이름 변경
+            index.remove(1L);
+            index.index(after);
+            return List.of(removed, before);
+        });
+
+        index.bootstrap();
+        assertEquals(List.of(), index.search("삭제된", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(), index.search("예전", Sort.unsorted(), 0, 10).getStudyIds());
+        assertEquals(List.of(2L), index.search("바뀐", Sort.unsorted(), 0, 10).getStudyIds());
+    }
+
+    private StudySearchIndex readyIndex() {
+        // 트랜잭션 밖에서 호출하므로 index, remove는 바로 반영된다.
+        StudyRepository studyRepository = mock(StudyRepository.class);
+        when(studyRepository.findPublishedIdsAfter(any(), any())).thenReturn(List.of());
+        StudySearchIndex index = new StudySearchIndex(studyRepository);
+        index.bootstrap();
+        return index;
+    }
+
+    private Study study(Long id, String title) {
+        return study(id, title, null, null, 1, LocalDateTime.now());
+    }
+
+    private Study study(Long id, String title, String tag, String zone, int memberCount, LocalDateTime publishedDateTime) {
+        Study study = mock(Study.class);
+        when(study.getId()).thenReturn(id);
+        when(study.getTitle()).thenReturn(title);
+        when(study.getTags()).thenReturn(tag == null ? Set.of() : Set.of(Tag.builder().title(tag).build()));
+        when(study.getZones()).thenReturn(zone == null ? Set.of() : Set.of(Zone.builder().localNameOfCity(zone).build()));
+        when(study.getPublishedDateTime()).thenReturn(publishedDateTime);
+        when(study.getMemberCount()).thenReturn(memberCount);
+        when(study.isPublished()).thenReturn(true);
+        return study;
+    }
+}
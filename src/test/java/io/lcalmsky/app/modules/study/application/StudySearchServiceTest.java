@@ -0,0 +1,117 @@
+package io.lcalmsky.app.modules.study.application;
+
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.domain.SearchFacet;
+import io.lcalmsky.app.modules.study.domain.StudyCard;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class StudySearchServiceTest {
+
+    @Autowired StudySearchService studySearchService;
+    @Autowired StudySearchIndex studySearchIndex;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        Account account = accountRepository.save(Account.with("search@example.com", "searcher", "password"));
+        Tag tag = tagRepository.save(Tag.builder().title("스프링부트").build());
+        createAndPublish(account, "spring-study", "스프링 입문 스터디", null);
+        createAndPublish(account, "jpa-study", "JPA 스터디", tag);
+        createAndPublish(account, "spring-basic", "스프링 기초", null);
+        transactionTemplate.executeWithoutResult(status -> studyService.createNewStudy(form("closed-draft", "공개 안 한 스프링"), account));
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.findAll().forEach(study -> studySearchIndex.remove(study.getId()));
+        studyRepository.deleteAll();
+        tagRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("이름이나 관심 주제에 검색어를 포함한 공개 스터디를 점수 순으로 조회")
+    void search() {
+        assertTrue(studySearchIndex.isReady());
+        Page<StudyCard> page = studySearchService.search("스프링", PageRequest.of(0, 9, Sort.by(Sort.Direction.DESC, "publishedDateTime")));
+        List<String> paths = page.getContent().stream().map(StudyCard::getPath).collect(Collectors.toList());
+        // 이름에 포함된 스터디가 관심 주제에만 포함된 스터디보다 먼저, 공개하지 않은 스터디는 제외
+        assertEquals(3, page.getTotalElements());
+        assertEquals("jpa-study", paths.get(2));
+        assertTrue(paths.containsAll(List.of("spring-study", "spring-basic")));
+
+        assertEquals(0, studySearchService.search("파이썬", PageRequest.of(0, 9)).getTotalElements());
+        assertEquals(1, studySearchService.search("jpa", PageRequest.of(0, 9)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("같은 검색은 캐시에서 응답하고 스터디 이름이 바뀌면 캐시를 비운다")
+    void searchCache() {
+        PageRequest pageable = PageRequest.of(0, 9);
+        double hits = cacheGets("hit");
+        assertEquals(1, studySearchService.search("입문", pageable).getTotalElements());
+        assertEquals(1, studySearchService.search("입문", pageable).getTotalElements());
+        assertEquals(hits + 1, cacheGets("hit"));
+
+        transactionTemplate.executeWithoutResult(status ->
+                studyService.updateStudyTitle(studyRepository.findByPath("jpa-study"), "JPA 입문"));
+        assertEquals(2, studySearchService.search("입문", pageable).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("관심 주제별 공개 스터디 수")
+    void tagFacets() {
+        List<SearchFacet> facets = studySearchService.getTagFacets();
+        assertEquals(1, facets.size());
+        assertEquals("스프링부트", facets.get(0).getName());
+        assertEquals(1, facets.get(0).getCount());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "studySearch").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private Study createAndPublish(Account account, String path, String title, Tag tag) {
+        return transactionTemplate.execute(status -> {
+            Study study = studyService.createNewStudy(form(path, title), account);
+            if (tag != null) {
+                studyService.addTag(study, tag);
+            }
+            studyService.publish(study);
+            return study;
+        });
+    }
+
+    private StudyForm form(String path, String title) {
+        return StudyForm.builder().path(path).title(title).shortDescription("short").fullDescription("full").build();
+    }
+}
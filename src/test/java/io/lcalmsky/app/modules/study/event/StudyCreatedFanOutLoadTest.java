@@ -0,0 +1,111 @@
+package io.lcalmsky.app.modules.study.event;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.infra.email.EmailOutboxRepository;
+import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
+import io.lcalmsky.app.modules.account.application.AccountInterestIndex;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.lcalmsky.app.modules.zone.repository.ZoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@org.junit.jupiter.api.Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fan-out-load",
+        "app.mail.dispatch-interval-millis=3600000"
+})
+class StudyCreatedFanOutLoadTest {
+    // 스터디 오픈 알림 fan-out 처리량을 측정한다. 알림과 메일 outbox를 페이지마다 한 트랜잭션에서 저장한다.
+    // ./gradlew loadTest
+
+    static final int RECIPIENTS = 5_000;
+
+    @Autowired AccountRepository accountRepository;
+    @Autowired AccountInterestIndex accountInterestIndex;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired UnreadNotificationCounter unreadNotificationCounter;
+    @Autowired EmailService emailService;
+    @Autowired EmailOutboxRepository emailOutboxRepository;
+    @Autowired SimpleLinkMailRenderer simpleLinkMailRenderer;
+    @Autowired AppProperties appProperties;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager entityManager;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired StudyRepository studyRepository;
+
+    Study study;
+
+    @BeforeAll
+    void seed() {
+        Tag tag = tagRepository.save(Tag.builder().title("load-test").build());
+        Zone zone = zoneRepository.save(Zone.builder().city("LoadTest").localNameOfCity("부하테스트").province("none").build());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Account> accounts = new ArrayList<>();
+            for (int i = 0; i < RECIPIENTS; i++) {
+                accounts.add(Account.builder()
+                        .email("load" + i + "@example.com")
+                        .nickname("load" + i)
+                        .password("password")
+                        .notificationSetting(Account.NotificationSetting.builder()
+                                .studyCreatedByEmail(true)
+                                .studyCreatedByWeb(true)
+                                .build())
+                        .tags(Set.of(tag))
+                        .zones(Set.of(zone))
+                        .build());
+            }
+            accountRepository.saveAll(accounts);
+        });
+        Study newStudy = Study.from(StudyForm.builder().path("load-test").title("부하 테스트").shortDescription("fan-out").fullDescription("fan-out").build());
+        newStudy.addTag(tag);
+        newStudy.addZone(zone);
+        study = studyRepository.save(newStudy);
+        accountInterestIndex.bootstrap(); // AccountService를 거치지 않고 저장했으므로 색인을 다시 만든다.
+    }
+
+    @BeforeEach
+    void clear() {
+        notificationRepository.deleteAllInBatch();
+        emailOutboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("fan-out 처리량")
+    void throughput() {
+        StudyCreatedFanOut fanOut = new StudyCreatedFanOut(accountRepository, accountInterestIndex, notificationRepository, unreadNotificationCounter,
+                emailService, simpleLinkMailRenderer, appProperties, transactionTemplate, entityManager, meterRegistry);
+        long started = System.nanoTime();
+        fanOut.fanOut(study);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("fan-out to {} recipients took {} ms ({} recipients/s)", RECIPIENTS, elapsedMillis,
+                RECIPIENTS * 1000L / Math.max(elapsedMillis, 1));
+        assertEquals(RECIPIENTS, notificationRepository.count());
+        assertEquals(RECIPIENTS, emailOutboxRepository.count()); // fan-out이 끝나면 메일도 모두 저장돼 있다.
+    }
+}
@@ -0,0 +1,178 @@
+package io.lcalmsky.app.modules.study.event;
+
+import io.lcalmsky.app.infra.config.AppProperties;
+import io.lcalmsky.app.infra.email.EmailOutbox;
+import io.lcalmsky.app.infra.email.EmailOutboxRepository;
+import io.lcalmsky.app.infra.email.EmailService;
+import io.lcalmsky.app.infra.email.SimpleLinkMailRenderer;
+import io.lcalmsky.app.modules.account.application.AccountInterestIndex;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.notification.appcation.UnreadNotificationCounter;
+import io.lcalmsky.app.modules.notification.domain.entity.Notification;
+import io.lcalmsky.app.modules.notification.repository.NotificationRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import io.lcalmsky.app.modules.study.infra.repostiory.StudyRepository;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.lcalmsky.app.modules.zone.repository.ZoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:study-created-fan-out",
+        "app.fan-out.page-size=3",
+        "app.mail.dispatch-interval-millis=3600000",
+        "app.domain-events.relay-interval-millis=3600000"
+})
+class StudyCreatedFanOutTest {
+    // 대상 계정을 여러 페이지로 나눠 처리해도 조건에 맞는 계정마다 알림과 메일이 한 번씩만 저장되는지 확인한다.
+
+    @Autowired StudyCreatedFanOut studyCreatedFanOut;
+    @Autowired AccountRepository accountRepository;
+    @Autowired AccountInterestIndex accountInterestIndex;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired UnreadNotificationCounter unreadNotificationCounter;
+    @Autowired EmailService emailService;
+    @Autowired EmailOutboxRepository emailOutboxRepository;
+    @Autowired SimpleLinkMailRenderer simpleLinkMailRenderer;
+    @Autowired AppProperties appProperties;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager entityManager;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired StudyRepository studyRepository;
+
+    Study study;
+    Set<Long> webRecipients;
+    Set<String> emailRecipients;
+    Set<Long> emailOnlyRecipients;
+
+    @BeforeAll
+    void seed() {
+        Tag tag = tagRepository.save(Tag.builder().title("fan-out").build());
+        Tag otherTag = tagRepository.save(Tag.builder().title("fan-out-other").build());
+        Zone zone = zoneRepository.save(Zone.builder().city("FanOut").localNameOfCity("팬아웃").province("none").build());
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accounts.add(account("both" + i, true, true, tag, zone));
+        }
+        for (int i = 0; i < 2; i++) {
+            accounts.add(account("email" + i, true, false, tag, zone));
+        }
+        accounts.add(account("web", false, true, tag, zone));
+        for (int i = 0; i < 2; i++) {
+            accounts.add(account("off" + i, false, false, tag, zone)); // 알림을 받지 않는 계정
+        }
+        for (int i = 0; i < 2; i++) {
+            accounts.add(account("other" + i, true, true, otherTag, zone)); // 관심 주제가 다른 계정
+        }
+        List<Account> saved = accountRepository.saveAll(accounts);
+        webRecipients = saved.stream()
+                .filter(account -> account.getNickname().startsWith("both") || account.getNickname().equals("web"))
+                .map(Account::getId)
+                .collect(Collectors.toSet());
+        emailOnlyRecipients = saved.stream()
+                .filter(account -> account.getNickname().startsWith("email"))
+                .map(Account::getId)
+                .collect(Collectors.toSet());
+        emailRecipients = saved.stream()
+                .filter(account -> account.getNickname().startsWith("both") || account.getNickname().startsWith("email"))
+                .map(Account::getEmail)
+                .collect(Collectors.toSet());
+
+        Study newStudy = Study.from(StudyForm.builder().path("fan-out").title("팬아웃").shortDescription("fan-out").fullDescription("fan-out").build());
+        newStudy.addTag(tag);
+        newStudy.addZone(zone);
+        study = studyRepository.save(newStudy);
+        accountInterestIndex.bootstrap(); // AccountService를 거치지 않고 저장했으므로 색인을 다시 만든다.
+    }
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAllInBatch();
+        emailOutboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("관심 주제/지역 색인으로 찾은 계정에 여러 페이지에 걸쳐 알림과 메일을 한 번씩 저장")
+    void fanOutByIndex() {
+        assertTrue(accountInterestIndex.isReady());
+
+        studyCreatedFanOut.fanOut(study);
+        assertRecipients();
+    }
+
+    @Test
+    @DisplayName("색인이 준비되지 않았으면 keyset 방식으로 찾은 계정에 여러 페이지에 걸쳐 알림과 메일을 한 번씩 저장")
+    void fanOutByQuery() {
+        AccountInterestIndex notReady = mock(AccountInterestIndex.class);
+        when(notReady.isReady()).thenReturn(false);
+        StudyCreatedFanOut fanOut = new StudyCreatedFanOut(accountRepository, notReady, notificationRepository, unreadNotificationCounter,
+                emailService, simpleLinkMailRenderer, appProperties, transactionTemplate, entityManager, meterRegistry);
+
+        fanOut.fanOut(study);
+        assertRecipients();
+    }
+
+    @Test
+    @DisplayName("같은 스터디를 다시 처리하면 이미 알림을 받은 계정은 건너뜀")
+    void fanOutAgain() {
+        studyCreatedFanOut.fanOut(study);
+        studyCreatedFanOut.fanOut(study);
+
+        assertEquals(webRecipients, notifiedAccountIds());
+        assertEquals(webRecipients.size(), notificationRepository.count());
+    }
+
+    private void assertRecipients() {
+        // 웹 알림을 켠 계정만 알림을 한 개씩 받고, 메일만 받는 계정에는 알림을 저장하지 않는다.
+        assertEquals(webRecipients, notifiedAccountIds());
+        assertEquals(webRecipients.size(), notificationRepository.count());
+        assertTrue(notifiedAccountIds().stream().noneMatch(emailOnlyRecipients::contains));
+        List<String> mailed = emailOutboxRepository.findAll().stream()
+                .map(EmailOutbox::getRecipient)
+                .collect(Collectors.toList());
+        assertEquals(emailRecipients.size(), mailed.size());
+        assertEquals(emailRecipients, Set.copyOf(mailed));
+    }
+
+    private Set<Long> notifiedAccountIds() {
+        return transactionTemplate.execute(status -> notificationRepository.findAll().stream()
+                .map(Notification::getAccount)
+                .map(Account::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    private Account account(String nickname, boolean byEmail, boolean byWeb, Tag tag, Zone zone) {
+        return Account.builder()
+                .email(nickname + "@fan-out.com")
+                .nickname(nickname)
+                .password("password")
+                .notificationSetting(Account.NotificationSetting.builder()
+                        .studyCreatedByEmail(byEmail)
+                        .studyCreatedByWeb(byWeb)
+                        .build())
+                .tags(Set.of(tag))
+                .zones(Set.of(zone))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package io.lcalmsky.app.modules.study.infra.repostiory;
+
+import io.lcalmsky.app.infra.SqlCapture;
+import io.lcalmsky.app.modules.account.domain.entity.Account;
+import io.lcalmsky.app.modules.account.infra.repository.AccountRepository;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.study.endpoint.form.StudyForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:study-lazy-content",
+        SqlCapture.PROPERTY
+})
+class StudyLazyContentTest {
+    // 목록 조회에서 full_description 컬럼을 읽지 않는지 실행된 SQL로 확인한다.
+    // 바이트코드 향상이 적용되지 않으면(IDE에서 향상 없이 실행하는 경우 등) 실패한다.
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Account account;
+
+    @BeforeEach
+    void beforeEach() {
+        account = accountRepository.save(Account.with("lazy@example.com", "lazy", "password"));
+        transactionTemplate.executeWithoutResult(status -> {
+            Study study = Study.from(StudyForm.builder().path("lazy-study").title("지연 로딩 스터디")
+                    .shortDescription("short").fullDescription("아주 긴 스터디 소개").build());
+            study.addManager(account);
+            study.publish();
+            studyRepository.save(study);
+        });
+        SqlCapture.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("목록, 검색, 추천 조회는 스터디 소개를 읽지 않는다")
+    void listQueries() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Study study = studyRepository.findStudyWithManagersByPath("lazy-study");
+            assertEquals(1, studyRepository.findByKeyword("지연", PageRequest.of(0, 9)).getTotalElements());
+            studyRepository.findStudiesWithTagsAndZonesInOrder(List.of(study.getId()));
+            studyRepository.findStudiesWithTagsAndZonesByIdIn(List.of(study.getId()));
+            studyRepository.findByAccountInterests(account.getId());
+            studyRepository.findStudyOnlyByPath("lazy-study");
+        });
+        assertFalse(SqlCapture.statements().isEmpty());
+        SqlCapture.statements().forEach(sql -> assertFalse(readsFullDescription(sql), sql));
+    }
+
+    @Test
+    @DisplayName("상세 화면에서 스터디 소개에 접근하면 그때 조회한다")
+    void loadOnAccess() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Study study = studyRepository.findByPath("lazy-study");
+            assertTrue(SqlCapture.statements().stream().noneMatch(StudyLazyContentTest::readsFullDescription));
+
+            assertEquals("아주 긴 스터디 소개", study.getFullDescription());
+            assertTrue(SqlCapture.statements().stream().anyMatch(StudyLazyContentTest::readsFullDescription));
+        });
+    }
+
+    private static boolean readsFullDescription(String sql) {
+        return sql.toLowerCase().startsWith("select") && sql.toLowerCase().contains("full_description");
+    }
+}
@@ -0,0 +1,132 @@
+package io.lcalmsky.app.modules.study.infra.repostiory;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.lcalmsky.app.modules.account.domain.entity.QAccount;
+import io.lcalmsky.app.modules.account.domain.entity.QZone;
+import io.lcalmsky.app.modules.account.domain.entity.Zone;
+import io.lcalmsky.app.modules.study.domain.entity.QStudy;
+import io.lcalmsky.app.modules.study.domain.entity.Study;
+import io.lcalmsky.app.modules.tag.domain.entity.QTag;
+import io.lcalmsky.app.modules.tag.domain.entity.Tag;
+import io.lcalmsky.app.modules.tag.infra.repository.TagRepository;
+import io.lcalmsky.app.modules.zone.repository.ZoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@org.junit.jupiter.api.Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:study-search-benchmark")
+class StudySearchBenchmarkTest {
+    // 스터디 100,000개에서 기존 fetch join + 메모리 페이징 검색과 id 조회 후 데이터를 조회하는 검색을 비교한다.
+    // ./gradlew loadTest
+
+    static final int STUDIES = 100_000;
+    static final long FIRST_ID = 10_000_000L;
+    static final String[] KEYWORDS = {"스프링", "JPA", "서울", "자바", "없는검색어"};
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager entityManager;
+
+    @BeforeAll
+    void seed() {
+        List<Tag> tags = new ArrayList<>();
+        for (String title : new String[]{"스프링", "JPA", "자바", "코틀린", "리액트", "알고리즘", "데브옵스", "파이썬"}) {
+            tags.add(tagRepository.save(Tag.builder().title(title + "-bench").build()));
+        }
+        List<Zone> zones = new ArrayList<>();
+        for (String city : new String[]{"서울", "부산", "대구", "인천", "광주"}) {
+            zones.add(zoneRepository.save(Zone.builder().city(city + "-bench").localNameOfCity(city).province("bench").build()));
+        }
+        // 엔티티로 저장하면 시퀀스 조회가 10만 번 발생하므로 JDBC batch로 직접 저장한다.
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> studies = new ArrayList<>();
+        List<Object[]> studyTags = new ArrayList<>();
+        List<Object[]> studyZones = new ArrayList<>();
+        for (int i = 0; i < STUDIES; i++) {
+            long id = FIRST_ID + i;
+            Tag tag = tags.get(i % tags.size());
+            studies.add(new Object[]{id, "bench-" + i, tag.getTitle().replace("-bench", "") + " 스터디 " + i, "short",
+                    Timestamp.valueOf(now.minusMinutes(i)), i % 50});
+            studyTags.add(new Object[]{id, tag.getId()});
+            studyZones.add(new Object[]{id, zones.get(i % zones.size()).getId()});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("insert into study (id, path, title, short_description, published_date_time, member_count, " +
+                    "published, closed, recruiting, use_banner) values (?, ?, ?, ?, ?, ?, true, false, false, false)", studies);
+            jdbcTemplate.batchUpdate("insert into study_tags (study_id, tags_id) values (?, ?)", studyTags);
+            jdbcTemplate.batchUpdate("insert into study_zones (study_id, zones_id) values (?, ?)", studyZones);
+        });
+    }
+
+    @Test
+    @DisplayName("검색 성능 비교: fetch join 메모리 페이징 vs id 조회 후 데이터 조회")
+    void compare() {
+        PageRequest pageable = PageRequest.of(3, 9, Sort.by(Sort.Direction.DESC, "publishedDateTime"));
+        for (String keyword : KEYWORDS) {
+            long legacyTotal = measure("legacy " + keyword, 3,
+                    () -> transactionTemplate.execute(status -> legacy(keyword, pageable)));
+            long twoPhaseTotal = measure("two-phase " + keyword, 20,
+                    () -> studyRepository.findByKeyword(keyword, pageable).getTotalElements());
+            assertEquals(legacyTotal, twoPhaseTotal);
+        }
+    }
+
+    private long measure(String name, int iterations, Supplier<Long> search) {
+        long total = search.get(); // warm up
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            search.get();
+            entityManager.clear();
+        }
+        log.info("[{}] {} results, {} ms/search", name, total, (System.nanoTime() - started) / 1_000_000 / iterations);
+        return total;
+    }
+
+    private long legacy(String keyword, PageRequest pageable) {
+        // 변경 전 findByKeyword와 같은 쿼리 (조건 우선순위는 변경된 쿼리와 맞춤)
+        QStudy study = QStudy.study;
+        List<Study> all = new JPAQueryFactory(entityManager).selectFrom(study)
+                .where(study.published.isTrue()
+                        .and(study.title.containsIgnoreCase(keyword)
+                                .or(study.tags.any().title.containsIgnoreCase(keyword))
+                                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword))))
+                .leftJoin(study.tags, QTag.tag).fetchJoin()
+                .leftJoin(study.zones, QZone.zone).fetchJoin()
+                .leftJoin(study.members, QAccount.account).fetchJoin()
+                .orderBy(study.publishedDateTime.desc())
+                .distinct()
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch(); // firstResult/maxResults specified with collection fetch; applying in memory
+        long total = new JPAQueryFactory(entityManager).select(study.id).from(study)
+                .where(study.published.isTrue()
+                        .and(study.title.containsIgnoreCase(keyword)
+                                .or(study.tags.any().title.containsIgnoreCase(keyword))
+                                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword))))
+                .fetchCount();
+        return total;
+    }
+}